@@ -23,12 +23,56 @@
 package com.github.prominence.openweathermap.api;
 
 import com.github.prominence.openweathermap.api.annotation.SubscriptionAvailability;
+import com.github.prominence.openweathermap.api.conf.AdaptiveConcurrencySettings;
+import com.github.prominence.openweathermap.api.conf.AdaptiveTimeoutSettings;
+import com.github.prominence.openweathermap.api.conf.BulkheadSettings;
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.conf.ConnectionPoolSettings;
+import com.github.prominence.openweathermap.api.conf.CoordinateQuantizationSettings;
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.conf.RateLimitSettings;
+import com.github.prominence.openweathermap.api.conf.ResponseCacheSettings;
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
 import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointGroup;
+import com.github.prominence.openweathermap.api.key.ApiKeyPool;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
 import com.github.prominence.openweathermap.api.request.air.pollution.AirPollutionRequester;
 import com.github.prominence.openweathermap.api.request.forecast.free.FiveDayThreeHourStepForecastRequester;
 import com.github.prominence.openweathermap.api.request.onecall.OneCallWeatherRequester;
 import com.github.prominence.openweathermap.api.request.weather.CurrentWeatherRequester;
+import com.github.prominence.openweathermap.api.transport.AdaptiveConcurrencyLimiter;
+import com.github.prominence.openweathermap.api.transport.AdaptiveConcurrencyTransport;
+import com.github.prominence.openweathermap.api.transport.AdaptiveTimeoutTransport;
+import com.github.prominence.openweathermap.api.transport.Bulkhead;
+import com.github.prominence.openweathermap.api.transport.BulkheadTransport;
+import com.github.prominence.openweathermap.api.transport.CircuitBreaker;
+import com.github.prominence.openweathermap.api.transport.CircuitBreakerTransport;
+import com.github.prominence.openweathermap.api.transport.ConnectionPoolStatistics;
+import com.github.prominence.openweathermap.api.transport.ContentDecodingTransport;
+import com.github.prominence.openweathermap.api.transport.HedgingStatistics;
+import com.github.prominence.openweathermap.api.transport.HedgingTransport;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.HttpTransports;
+import com.github.prominence.openweathermap.api.transport.HttpURLConnectionTransport;
+import com.github.prominence.openweathermap.api.transport.RateLimiter;
+import com.github.prominence.openweathermap.api.transport.RateLimitingTransport;
+import com.github.prominence.openweathermap.api.transport.RetryStatistics;
+import com.github.prominence.openweathermap.api.transport.RetryingTransport;
+import com.github.prominence.openweathermap.api.transport.TransferStatistics;
+import com.github.prominence.openweathermap.api.utils.CoordinateQuantizer;
+import com.github.prominence.openweathermap.api.utils.RequestCoalescer;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.github.prominence.openweathermap.api.utils.ResponseCache;
+import com.github.prominence.openweathermap.api.utils.RevalidationCache;
+import com.github.prominence.openweathermap.api.utils.VirtualThreadExecutor;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.github.prominence.openweathermap.api.enums.SubscriptionPlan.ALL;
 import static com.github.prominence.openweathermap.api.enums.SubscriptionPlan.SPECIAL;
@@ -39,14 +83,81 @@ import static com.github.prominence.openweathermap.api.enums.SubscriptionPlan.SP
  */
 public class OpenWeatherMapClient {
     private final String apiKey;
+    private final ApiKeyPool apiKeyPool;
     private final TimeoutSettings timeoutSettings = new TimeoutSettings();
+    private final HttpTransport transport;
+    private final ContentDecodingTransport contentDecodingTransport;
+    private final AdaptiveTimeoutTransport adaptiveTimeoutTransport;
+    private final Map<EndpointGroup, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<EndpointGroup, Bulkhead> requestLimits = new ConcurrentHashMap<>();
+    private final RateLimitingTransport rateLimitingTransport;
+    private final AdaptiveConcurrencyTransport adaptiveConcurrencyTransport;
+    private final CircuitBreakerTransport circuitBreakerTransport;
+    private final HedgingTransport hedgingTransport;
+    private final RetryingTransport retryingTransport;
+    private final HttpTransport requestTransport;
+    private volatile Executor executor = ForkJoinPool.commonPool();
+    private volatile RequestCoalescer requestCoalescer;
+    private volatile RevalidationCache revalidationCache;
+    private volatile ResponseCache responseCache;
+    private volatile CoordinateQuantizer coordinateQuantizer;
 
     /**
-     * Created OpenWeatherMap client object.
+     * Created OpenWeatherMap client object with the default transport, see {@link HttpTransports#defaultTransport()}.
      * @param apiKey API key obtained on <a href="https://home.openweathermap.org/api_keys">OpenWeatherMap site</a>.
      */
     public OpenWeatherMapClient(String apiKey) {
+        this(apiKey, HttpTransports.defaultTransport());
+    }
+
+    /**
+     * Created OpenWeatherMap client object with custom connection pool settings of the default transport.
+     * @param apiKey API key obtained on <a href="https://home.openweathermap.org/api_keys">OpenWeatherMap site</a>.
+     * @param connectionPoolSettings connection pool settings.
+     */
+    public OpenWeatherMapClient(String apiKey, ConnectionPoolSettings connectionPoolSettings) {
+        this(apiKey, new HttpURLConnectionTransport(connectionPoolSettings));
+    }
+
+    /**
+     * Created OpenWeatherMap client object with custom HTTP transport.
+     * @param apiKey API key obtained on <a href="https://home.openweathermap.org/api_keys">OpenWeatherMap site</a>.
+     * @param transport transport to execute all requests of this client with.
+     */
+    public OpenWeatherMapClient(String apiKey, HttpTransport transport) {
+        this(apiKey, null, transport);
+    }
+
+    /**
+     * Created OpenWeatherMap client object that selects API key from the pool for every request.
+     * @param apiKeyPool API keys with their subscription plans and quotas.
+     */
+    public OpenWeatherMapClient(ApiKeyPool apiKeyPool) {
+        this(apiKeyPool, HttpTransports.defaultTransport());
+    }
+
+    /**
+     * Created OpenWeatherMap client object that selects API key from the pool for every request, with custom HTTP transport.
+     * @param apiKeyPool API keys with their subscription plans and quotas.
+     * @param transport transport to execute all requests of this client with.
+     */
+    public OpenWeatherMapClient(ApiKeyPool apiKeyPool, HttpTransport transport) {
+        this(null, Objects.requireNonNull(apiKeyPool), transport);
+    }
+
+    private OpenWeatherMapClient(String apiKey, ApiKeyPool apiKeyPool, HttpTransport transport) {
         this.apiKey = apiKey;
+        this.apiKeyPool = apiKeyPool;
+        this.transport = transport;
+        this.contentDecodingTransport = new ContentDecodingTransport(transport);
+        this.adaptiveTimeoutTransport = new AdaptiveTimeoutTransport(contentDecodingTransport);
+        // concurrency limiter measures latency of the admitted requests only, so it is below the rate limiter and bulkheads
+        this.adaptiveConcurrencyTransport = new AdaptiveConcurrencyTransport(adaptiveTimeoutTransport);
+        this.rateLimitingTransport = new RateLimitingTransport(new BulkheadTransport(new BulkheadTransport(adaptiveConcurrencyTransport, bulkheads), requestLimits));
+        this.circuitBreakerTransport = new CircuitBreakerTransport(rateLimitingTransport);
+        this.hedgingTransport = new HedgingTransport(circuitBreakerTransport);
+        this.retryingTransport = new RetryingTransport(hedgingTransport);
+        this.requestTransport = retryingTransport;
     }
 
     public void setConnectionTimeout(int connectionTimeout) {
@@ -57,13 +168,294 @@ public class OpenWeatherMapClient {
         timeoutSettings.setReadTimeout(readTimeout);
     }
 
+    /**
+     * Sets end-to-end deadline of every request, see {@link TimeoutSettings#getTotalTimeout()}.
+     * Requests that don't complete in time fail with {@link com.github.prominence.openweathermap.api.exception.DeadlineExceededException}.
+     * @param totalTimeout timeout in milliseconds.
+     */
+    public void setTotalTimeout(int totalTimeout) {
+        timeoutSettings.setTotalTimeout(totalTimeout);
+    }
+
+    /**
+     * Enables read timeouts learned from the observed latency of each endpoint instead of the fixed one,
+     * see {@link AdaptiveTimeoutSettings}. Adaptive timeouts are disabled by default.
+     * @param adaptiveTimeoutSettings adaptive timeout settings or null to use the fixed read timeout.
+     */
+    public void setAdaptiveTimeoutSettings(AdaptiveTimeoutSettings adaptiveTimeoutSettings) {
+        adaptiveTimeoutTransport.setSettings(adaptiveTimeoutSettings);
+    }
+
+    /**
+     * Read timeout currently used for the endpoint.
+     * @param endpoint endpoint, e.g. <code>air_pollution/history</code>.
+     * @return timeout in milliseconds or null if it isn't adapted.
+     */
+    public Integer getAdaptiveTimeout(String endpoint) {
+        return adaptiveTimeoutTransport.getTimeout(endpoint);
+    }
+
+    /**
+     * Sets executor for asynchronous requests: blocking transports execute requests in it and responses are mapped there.
+     * Attempts of hedged synchronous requests are executed in it as well.
+     * By default {@link ForkJoinPool#commonPool()} is used.
+     * Requests are capped with {@link VirtualThreadExecutor#getRequestLimit()} while such executor is set.
+     * @param executor executor for asynchronous work.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        hedgingTransport.setExecutor(executor);
+        if (executor instanceof VirtualThreadExecutor) {
+            final Bulkhead requestLimit = ((VirtualThreadExecutor) executor).getRequestLimit();
+            for (EndpointGroup endpointGroup : EndpointGroup.values()) {
+                requestLimits.put(endpointGroup, requestLimit);
+            }
+        } else {
+            requestLimits.clear();
+        }
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Switches asynchronous requests to {@link VirtualThreadExecutor}: every request is executed on its own virtual thread.
+     * The cap applies to all requests of the client, synchronous ones too. Returned executor may be used to run blocking tasks
+     * as well, e.g. one task per location; the tasks themselves aren't capped, so they may wait for asynchronous requests.
+     * Requires Java 21 or higher.
+     * @param maxConcurrentRequests maximum number of simultaneously running requests.
+     * @return the executor.
+     * @throws UnsupportedOperationException when running on Java older than 21, see {@link VirtualThreadExecutor#isSupported()}.
+     */
+    public VirtualThreadExecutor useVirtualThreads(int maxConcurrentRequests) {
+        final VirtualThreadExecutor virtualThreadExecutor = new VirtualThreadExecutor(maxConcurrentRequests);
+        setExecutor(virtualThreadExecutor);
+        return virtualThreadExecutor;
+    }
+
+    /**
+     * Enables retries of the failed requests. Requests are not retried by default.
+     * @param retrySettings retry policy.
+     */
+    public void setRetrySettings(RetrySettings retrySettings) {
+        retryingTransport.setRetrySettings(retrySettings);
+    }
+
+    /**
+     * Retry counters.
+     * @return statistics.
+     */
+    public RetryStatistics getRetryStatistics() {
+        return retryingTransport.getRetryStatistics();
+    }
+
+    /**
+     * Enables in-memory cache of the mapped results: identical requests within the TTL of their endpoint are served
+     * without network and mapping. Returned objects may be shared between calls and must be treated as read-only.
+     * With stale-while-revalidate period set expired results are returned immediately and refreshed in background.
+     * Unknown locations and invalid requests are cached for the short negative TTL and fail with {@link com.github.prominence.openweathermap.api.exception.LocationNotFoundException}.
+     * With the disk tier set raw responses are kept in the directory and restore the cache after restart. Previous cache is closed.
+     * Caching is disabled by default.
+     * @param responseCacheSettings cache settings or null to disable caching.
+     */
+    public void setResponseCacheSettings(ResponseCacheSettings responseCacheSettings) {
+        final ResponseCache previousCache = responseCache;
+        // the previous cache releases the disk cache directory first, so the new one can lock it
+        if (previousCache != null) {
+            previousCache.close();
+        }
+        responseCache = responseCacheSettings != null ? new ResponseCache(responseCacheSettings) : null;
+    }
+
+    /**
+     * Response cache to observe its hits or to clear it.
+     * @return cache or null if caching is disabled.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Enables quantization of the request coordinates: they are snapped to a cell of the fixed decimal precision or geohash length
+     * before the request is keyed and sent, so nearby locations share cached and coalesced results.
+     * Returned data describes the cell instead of the exact location. Quantization is disabled by default.
+     * @param coordinateQuantizationSettings quantization settings or null to send coordinates as is.
+     */
+    public void setCoordinateQuantizationSettings(CoordinateQuantizationSettings coordinateQuantizationSettings) {
+        coordinateQuantizer = coordinateQuantizationSettings != null ? new CoordinateQuantizer(coordinateQuantizationSettings) : null;
+    }
+
+    /**
+     * Enables conditional requests: validators of the responses are sent with the next identical request and the previously
+     * mapped result is returned on <code>304</code> without parsing. Responses without validators are compared by content hash,
+     * so unchanged ones aren't mapped again. Returned objects may be shared between calls and must be treated as read-only.
+     * Conditional requests are disabled by default.
+     * @param enabled true to enable conditional requests.
+     */
+    public void setConditionalRequests(boolean enabled) {
+        revalidationCache = enabled ? new RevalidationCache() : null;
+    }
+
+    /**
+     * Revalidation cache to observe number of reused results.
+     * @return cache or null if conditional requests are disabled.
+     */
+    public RevalidationCache getRevalidationCache() {
+        return revalidationCache;
+    }
+
+    /**
+     * Enables hedging of slow requests: if an endpoint doesn't respond within its latency percentile, a duplicate request is sent
+     * and the first response is taken. Share of the duplicates is limited by the budget. Hedging is disabled by default.
+     * Attempts of synchronous requests are executed in the executor set by {@link #setExecutor(Executor)} or, until it is set,
+     * in a dedicated pool of daemon threads, not in {@link ForkJoinPool#commonPool()}.
+     * @param hedgingSettings hedging settings or null to disable hedging.
+     */
+    public void setHedgingSettings(HedgingSettings hedgingSettings) {
+        hedgingTransport.setSettings(hedgingSettings);
+    }
+
+    /**
+     * Hedging counters.
+     * @return statistics.
+     */
+    public HedgingStatistics getHedgingStatistics() {
+        return hedgingTransport.getStatistics();
+    }
+
+    /**
+     * Enables circuit breakers: every endpoint, e.g. <code>weather</code> or <code>air_pollution/history</code>, gets its own one.
+     * While circuit is open requests fail fast with {@link com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException}.
+     * Circuit breakers are disabled by default.
+     * @param circuitBreakerSettings circuit breaker settings or null to disable them.
+     */
+    public void setCircuitBreakerSettings(CircuitBreakerSettings circuitBreakerSettings) {
+        circuitBreakerTransport.setSettings(circuitBreakerSettings);
+    }
+
+    /**
+     * Circuit breaker of the endpoint to observe its state.
+     * @param endpoint endpoint, e.g. <code>onecall/timemachine</code>.
+     * @return circuit breaker or null if there were no requests to the endpoint or circuit breakers are disabled.
+     */
+    public CircuitBreaker getCircuitBreaker(String endpoint) {
+        return circuitBreakerTransport.getCircuitBreaker(endpoint);
+    }
+
+    /**
+     * Enables client-side rate limiting of all requests, e.g. <code>new RateLimitSettings(SubscriptionPlan.FREE)</code>.
+     * Rate limiting is disabled by default.
+     * @param rateLimitSettings rate limit settings or null to disable rate limiting.
+     */
+    public void setRateLimitSettings(RateLimitSettings rateLimitSettings) {
+        rateLimitingTransport.setSettings(rateLimitSettings);
+    }
+
+    /**
+     * Rate limiter to observe available permits.
+     * @return rate limiter or null if rate limiting is disabled.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimitingTransport.getRateLimiter();
+    }
+
+    /**
+     * Enables coalescing of identical concurrent requests: they share one network request and one mapped result,
+     * so returned objects must be treated as read-only. Coalescing is disabled by default.
+     * @param enabled true to enable coalescing.
+     */
+    public void setRequestCoalescing(boolean enabled) {
+        requestCoalescer = enabled ? new RequestCoalescer() : null;
+    }
+
+    /**
+     * Request coalescer to observe number of coalesced calls.
+     * @return request coalescer or null if coalescing is disabled.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Enables adaptive concurrency limit of all requests: it grows while latency is flat and is cut on latency growth,
+     * timeouts and <code>429</code> responses. Requests over the limit wait in a queue, so bulk workloads may submit
+     * all of them at once. Limiting is disabled by default.
+     * @param adaptiveConcurrencySettings limiter settings or null to disable limiting.
+     */
+    public void setAdaptiveConcurrencySettings(AdaptiveConcurrencySettings adaptiveConcurrencySettings) {
+        adaptiveConcurrencyTransport.setSettings(adaptiveConcurrencySettings);
+    }
+
+    /**
+     * Adaptive concurrency limiter to observe current limit and queue depth.
+     * @return limiter or null if limiting is disabled.
+     */
+    public AdaptiveConcurrencyLimiter getAdaptiveConcurrencyLimiter() {
+        return adaptiveConcurrencyTransport.getLimiter();
+    }
+
+    /**
+     * Limits number of simultaneous requests to the endpoint group, so requests to other groups are not affected by its slowness.
+     * @param endpointGroup endpoint group to isolate.
+     * @param bulkheadSettings bulkhead limits or null to remove the bulkhead.
+     */
+    public void setBulkhead(EndpointGroup endpointGroup, BulkheadSettings bulkheadSettings) {
+        if (bulkheadSettings == null) {
+            bulkheads.remove(endpointGroup);
+        } else {
+            bulkheads.put(endpointGroup, new Bulkhead(endpointGroup.name(), bulkheadSettings));
+        }
+    }
+
+    /**
+     * Bulkhead of the endpoint group to observe its saturation.
+     * @param endpointGroup endpoint group.
+     * @return bulkhead or null if it wasn't set.
+     */
+    public Bulkhead getBulkhead(EndpointGroup endpointGroup) {
+        return bulkheads.get(endpointGroup);
+    }
+
+    /**
+     * Connection pool usage counters of the {@link HttpURLConnectionTransport}.
+     * @return statistics or null if client uses another transport, e.g. HTTP/2 one created by {@link HttpTransports#http2Transport()}.
+     */
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return transport instanceof HttpURLConnectionTransport ? ((HttpURLConnectionTransport) transport).getConnectionPoolStatistics() : null;
+    }
+
+    /**
+     * Response body size counters: bytes transferred over the network vs bytes after decompression.
+     * @return statistics.
+     */
+    public TransferStatistics getTransferStatistics() {
+        return contentDecodingTransport.getTransferStatistics();
+    }
+
+    /**
+     * Prepares the client for the first request: initializes response mappers, resolves API host and opens connections
+     * to both API versions. Quota isn't spent. Failures are logged and ignored.
+     */
+    public void warmUp() {
+        RequestUtils.warmUp(transport, timeoutSettings);
+    }
+
+    /**
+     * Warms the client up asynchronously in its executor, see {@link #warmUp()}.
+     * @return future that is completed once warm-up is finished, it never fails.
+     */
+    public CompletableFuture<Void> warmUpAsync() {
+        return RequestUtils.warmUpAsync(transport, executor, timeoutSettings);
+    }
+
     /**
      * Current Weather <a href="https://openweathermap.org/current">API</a>.
      * @return requester for retrieving current weather information.
      */
     @SubscriptionAvailability(plans = ALL)
     public CurrentWeatherRequester currentWeather() {
-        return new CurrentWeatherRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new CurrentWeatherRequester(createRequestSettings());
     }
 
     /**
@@ -72,7 +464,7 @@ public class OpenWeatherMapClient {
      */
     @SubscriptionAvailability(plans = ALL)
     public FiveDayThreeHourStepForecastRequester forecast5Day3HourStep() {
-        return new FiveDayThreeHourStepForecastRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new FiveDayThreeHourStepForecastRequester(createRequestSettings());
     }
 
     /**
@@ -83,7 +475,7 @@ public class OpenWeatherMapClient {
     @SubscriptionAvailability(plans = ALL)
     @Deprecated
     public OneCallWeatherRequester oneCall() {
-        return new OneCallWeatherRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new OneCallWeatherRequester(createRequestSettings());
     }
 
     /**
@@ -99,8 +491,9 @@ public class OpenWeatherMapClient {
      */
     @SubscriptionAvailability(plans = SPECIAL)
     public OneCallWeatherRequester oneCall3() {
-        RequestSettings requestSettings = new RequestSettings(apiKey, timeoutSettings);
+        RequestSettings requestSettings = createRequestSettings();
         requestSettings.setUseApi3();
+        requestSettings.setRequiredPlan(SPECIAL);
         return new OneCallWeatherRequester(requestSettings);
     }
 
@@ -111,6 +504,17 @@ public class OpenWeatherMapClient {
      */
     @SubscriptionAvailability(plans = ALL)
     public AirPollutionRequester airPollution() {
-        return new AirPollutionRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new AirPollutionRequester(createRequestSettings());
+    }
+
+    private RequestSettings createRequestSettings() {
+        final RequestSettings requestSettings = apiKeyPool != null
+                ? new RequestSettings(apiKeyPool, timeoutSettings, requestTransport, executor)
+                : new RequestSettings(apiKey, timeoutSettings, requestTransport, executor);
+        requestSettings.setRequestCoalescer(requestCoalescer);
+        requestSettings.setRevalidationCache(revalidationCache);
+        requestSettings.setResponseCache(responseCache);
+        requestSettings.setCoordinateQuantizer(coordinateQuantizer);
+        return requestSettings;
     }
 }
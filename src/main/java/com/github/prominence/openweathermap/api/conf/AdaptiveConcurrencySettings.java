@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Settings of the {@link com.github.prominence.openweathermap.api.transport.AdaptiveConcurrencyLimiter}.
+ */
+public class AdaptiveConcurrencySettings {
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+    private double backoffRatio;
+    private double latencyTolerance;
+    private int maxWaitingCalls;
+    private long maxWaitTime;
+
+    public AdaptiveConcurrencySettings() {
+        this(10, 1, 200, 0.5, 2.0, 1000, 10000);
+    }
+
+    /**
+     * Instantiates adaptive concurrency settings.
+     *
+     * @param initialLimit number of simultaneously executed requests to start with.
+     * @param minLimit lower bound of the limit.
+     * @param maxLimit upper bound of the limit.
+     * @param backoffRatio factor the limit is multiplied by on congestion, from 0 to 1.
+     * @param latencyTolerance latency growth over the no-load latency that is considered congestion, e.g. 2.0 means twice as slow.
+     * @param maxWaitingCalls maximum number of requests waiting for a permit, the rest are rejected.
+     * @param maxWaitTime time in milliseconds a blocking request waits for a permit.
+     */
+    public AdaptiveConcurrencySettings(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance,
+                                       int maxWaitingCalls, long maxWaitTime) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxWaitingCalls = maxWaitingCalls;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    public AdaptiveConcurrencySettings(AdaptiveConcurrencySettings from) {
+        this(from.initialLimit, from.minLimit, from.maxLimit, from.backoffRatio, from.latencyTolerance, from.maxWaitingCalls, from.maxWaitTime);
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public void setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public int getMaxWaitingCalls() {
+        return maxWaitingCalls;
+    }
+
+    public void setMaxWaitingCalls(int maxWaitingCalls) {
+        this.maxWaitingCalls = maxWaitingCalls;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Settings of the read timeouts learned from the observed latency of each endpoint:
+ * timeout is the latency percentile plus margin, bounded by floor and ceiling.
+ */
+public class AdaptiveTimeoutSettings {
+    private double percentile;
+    private long margin;
+    private int floor;
+    private int ceiling;
+    private int minSamples;
+
+    public AdaptiveTimeoutSettings() {
+        this(0.99, 500, 1000, 10000, 20);
+    }
+
+    /**
+     * Instantiates adaptive timeout settings.
+     *
+     * @param percentile latency percentile of the endpoint the timeout is based on, from 0 to 1.
+     * @param margin time in milliseconds added to the percentile.
+     * @param floor minimum timeout in milliseconds.
+     * @param ceiling maximum timeout in milliseconds.
+     * @param minSamples number of the endpoint responses to be collected before its timeout is adapted,
+     *                   till then {@link TimeoutSettings#getReadTimeout()} is used.
+     */
+    public AdaptiveTimeoutSettings(double percentile, long margin, int floor, int ceiling, int minSamples) {
+        this.percentile = percentile;
+        this.margin = margin;
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.minSamples = minSamples;
+    }
+
+    public AdaptiveTimeoutSettings(AdaptiveTimeoutSettings from) {
+        this(from.percentile, from.margin, from.floor, from.ceiling, from.minSamples);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public long getMargin() {
+        return margin;
+    }
+
+    public void setMargin(long margin) {
+        this.margin = margin;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public void setFloor(int floor) {
+        this.floor = floor;
+    }
+
+    public int getCeiling() {
+        return ceiling;
+    }
+
+    public void setCeiling(int ceiling) {
+        this.ceiling = ceiling;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Limits of a single bulkhead, see {@link com.github.prominence.openweathermap.api.transport.Bulkhead}.
+ */
+public class BulkheadSettings {
+    private int maxConcurrentCalls;
+    private int maxWaitingCalls;
+    private long maxWaitTime;
+
+    public BulkheadSettings() {
+        this(10, 100, 1000);
+    }
+
+    /**
+     * Instantiates bulkhead settings.
+     *
+     * @param maxConcurrentCalls maximum number of simultaneously executed requests.
+     * @param maxWaitingCalls maximum number of requests waiting for a free slot, the rest are rejected.
+     * @param maxWaitTime time in milliseconds a blocking request waits for a free slot.
+     */
+    public BulkheadSettings(int maxConcurrentCalls, int maxWaitingCalls, long maxWaitTime) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitingCalls = maxWaitingCalls;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    public BulkheadSettings(BulkheadSettings from) {
+        this(from.maxConcurrentCalls, from.maxWaitingCalls, from.maxWaitTime);
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public int getMaxWaitingCalls() {
+        return maxWaitingCalls;
+    }
+
+    public void setMaxWaitingCalls(int maxWaitingCalls) {
+        this.maxWaitingCalls = maxWaitingCalls;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+}
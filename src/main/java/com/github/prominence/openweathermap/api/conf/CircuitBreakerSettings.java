@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Settings of the per-endpoint circuit breakers, see {@link com.github.prominence.openweathermap.api.transport.CircuitBreaker}.
+ */
+public class CircuitBreakerSettings {
+    private double failureRateThreshold;
+    private int slidingWindowSize;
+    private int minimumCalls;
+    private long openDuration;
+    private int halfOpenCalls;
+
+    public CircuitBreakerSettings() {
+        this(0.5, 20, 10, 30000, 3);
+    }
+
+    /**
+     * Instantiates circuit breaker settings.
+     *
+     * @param failureRateThreshold share of failed calls, from 0 to 1, that opens the circuit.
+     * @param slidingWindowSize number of the latest calls the failure rate is calculated for.
+     * @param minimumCalls minimum number of calls in the window before the failure rate is evaluated.
+     * @param openDuration time in milliseconds the circuit stays open before probing calls are let through.
+     * @param halfOpenCalls number of probing calls in the half-open state, all of them have to succeed to close the circuit.
+     */
+    public CircuitBreakerSettings(double failureRateThreshold, int slidingWindowSize, int minimumCalls, long openDuration, int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = minimumCalls;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public CircuitBreakerSettings(CircuitBreakerSettings from) {
+        this(from.failureRateThreshold, from.slidingWindowSize, from.minimumCalls, from.openDuration, from.halfOpenCalls);
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Connection pool settings of the default {@link com.github.prominence.openweathermap.api.transport.HttpURLConnectionTransport}.
+ * Please note that JDK itself keeps not more than <code>http.maxConnections</code> (5 by default) idle connections per host,
+ * so it makes sense to adjust this system property together with {@link #setMaxConnectionsPerHost(int)}.
+ * The number of simultaneously used connections isn't limited by default.
+ */
+public class ConnectionPoolSettings {
+    private int maxConnectionsPerHost;
+    private long idleTimeout;
+    private int tlsSessionCacheSize;
+    private int tlsSessionTimeout;
+
+    public ConnectionPoolSettings() {
+        this(0, 5000, 0, 86400);
+    }
+
+    /**
+     * Instantiates connection pool settings.
+     *
+     * @param maxConnectionsPerHost maximum number of simultaneously used connections to a single host, 0 means no limit.
+     *                              Requests over the limit wait for a free connection up to the connection timeout.
+     * @param idleTimeout time in milliseconds after which idle connections are closed.
+     * @param tlsSessionCacheSize maximum number of cached TLS sessions, 0 means no limit.
+     * @param tlsSessionTimeout time in seconds TLS sessions can be resumed within, 0 means no limit.
+     */
+    public ConnectionPoolSettings(int maxConnectionsPerHost, long idleTimeout, int tlsSessionCacheSize, int tlsSessionTimeout) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.idleTimeout = idleTimeout;
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+        this.tlsSessionTimeout = tlsSessionTimeout;
+    }
+
+    public ConnectionPoolSettings(ConnectionPoolSettings from) {
+        this(from.maxConnectionsPerHost, from.idleTimeout, from.tlsSessionCacheSize, from.tlsSessionTimeout);
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    public void setTlsSessionCacheSize(int tlsSessionCacheSize) {
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+
+    public int getTlsSessionTimeout() {
+        return tlsSessionTimeout;
+    }
+
+    public void setTlsSessionTimeout(int tlsSessionTimeout) {
+        this.tlsSessionTimeout = tlsSessionTimeout;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Settings of the coordinate quantization. Coordinates of the requests are snapped to a grid cell,
+ * so nearby locations share cached and coalesced results at the cost of the location precision.
+ */
+public class CoordinateQuantizationSettings {
+    private Mode mode;
+    private int precision;
+
+    public CoordinateQuantizationSettings() {
+        this(Mode.DECIMAL_PLACES, 2);
+    }
+
+    /**
+     * Instantiates coordinate quantization settings.
+     *
+     * @param mode      quantization mode.
+     * @param precision number of the decimal places for {@link Mode#DECIMAL_PLACES} in range [0; 15]
+     *                  or geohash length in characters for {@link Mode#GEOHASH} in range [1; 12].
+     */
+    public CoordinateQuantizationSettings(Mode mode, int precision) {
+        this.mode = mode;
+        this.precision = precision;
+    }
+
+    public CoordinateQuantizationSettings(CoordinateQuantizationSettings from) {
+        this(from.mode, from.precision);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    public enum Mode {
+        /**
+         * Latitude and longitude are rounded to the fixed number of decimal places,
+         * e.g. 2 places give a cell of about 1.1 km.
+         */
+        DECIMAL_PLACES,
+
+        /**
+         * Coordinate is replaced by the center of its geohash cell,
+         * e.g. 6 characters give a cell of about 1.2 km x 0.6 km.
+         */
+        GEOHASH
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the disk tier of the response cache. Raw response bodies are appended to memory-mapped segment files
+ * in the directory, so the cache is restored on the next start of the application.
+ * The directory is locked while the cache is open: another client or process, e.g. the previous instance during a rolling deploy,
+ * caches responses in memory only until it is reopened.
+ */
+public class DiskCacheSettings {
+    private Path directory;
+    private int segmentSize;
+    private int maxSegments;
+
+    /**
+     * Instantiates disk cache settings with 8 segments of 16 MiB.
+     *
+     * @param directory directory of the segment files, created if missing. It is locked while the cache is open.
+     */
+    public DiskCacheSettings(Path directory) {
+        this(directory, 16 * 1024 * 1024, 8);
+    }
+
+    /**
+     * Instantiates disk cache settings.
+     *
+     * @param directory directory of the segment files, created if missing. It is locked while the cache is open.
+     * @param segmentSize size of a segment file in bytes, responses larger than it aren't stored.
+     * @param maxSegments maximum number of the segment files. When it is exceeded, live entries of the oldest segment
+     *                    are moved to the newest one and the oldest segment is deleted.
+     */
+    public DiskCacheSettings(Path directory, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+    }
+
+    public DiskCacheSettings(DiskCacheSettings from) {
+        this(from.directory, from.segmentSize, from.maxSegments);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Hedging policy: if there is no response within the chosen percentile of the endpoint latency,
+ * a duplicate request is sent and the first response is taken. The other request is aborted.
+ */
+public class HedgingSettings {
+    private double percentile;
+    private long minDelay;
+    private double budget;
+    private int minSamples;
+
+    public HedgingSettings() {
+        this(0.95, 50, 0.05, 20);
+    }
+
+    /**
+     * Instantiates hedging settings.
+     *
+     * @param percentile latency percentile of the endpoint after which the duplicate request is sent, from 0 to 1.
+     * @param minDelay minimum delay before the duplicate request in milliseconds.
+     * @param budget maximum share of the duplicate requests among all requests, e.g. 0.05 means at most 5% of extra quota usage.
+     * @param minSamples number of the endpoint responses to be collected before requests are hedged.
+     */
+    public HedgingSettings(double percentile, long minDelay, double budget, int minSamples) {
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.budget = budget;
+        this.minSamples = minSamples;
+    }
+
+    public HedgingSettings(HedgingSettings from) {
+        this(from.percentile, from.minDelay, from.budget, from.minSamples);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public long getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(long minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    public void setBudget(double budget) {
+        this.budget = budget;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+}
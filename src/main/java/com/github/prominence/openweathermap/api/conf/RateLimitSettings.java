@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+
+/**
+ * Client-side rate limit settings, see {@link com.github.prominence.openweathermap.api.transport.RateLimiter}.
+ * Limits of the subscription plans are taken from <a href="https://openweathermap.org/price">the pricing page</a>,
+ * daily limit is the monthly one divided by 30.
+ */
+public class RateLimitSettings {
+    private long callsPerMinute;
+    private long callsPerDay;
+    private boolean blocking;
+    private long maxWaitTime;
+
+    /**
+     * Instantiates rate limit settings of the subscription plan with blocking acquisition.
+     *
+     * @param subscriptionPlan subscription plan.
+     * @throws IllegalArgumentException for plans without fixed limits: {@link SubscriptionPlan#ALL} and {@link SubscriptionPlan#SPECIAL}.
+     */
+    public RateLimitSettings(SubscriptionPlan subscriptionPlan) {
+        this(callsPerMinute(subscriptionPlan), callsPerMonth(subscriptionPlan) / 30, true, 60000);
+    }
+
+    /**
+     * Instantiates rate limit settings.
+     *
+     * @param callsPerMinute maximum number of calls per minute.
+     * @param callsPerDay maximum number of calls per day.
+     * @param blocking true to wait for the permit, false to reject calls over the limit immediately.
+     * @param maxWaitTime maximum time in milliseconds to wait for the permit in blocking mode.
+     */
+    public RateLimitSettings(long callsPerMinute, long callsPerDay, boolean blocking, long maxWaitTime) {
+        this.callsPerMinute = callsPerMinute;
+        this.callsPerDay = callsPerDay;
+        this.blocking = blocking;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    public RateLimitSettings(RateLimitSettings from) {
+        this(from.callsPerMinute, from.callsPerDay, from.blocking, from.maxWaitTime);
+    }
+
+    public long getCallsPerMinute() {
+        return callsPerMinute;
+    }
+
+    public void setCallsPerMinute(long callsPerMinute) {
+        this.callsPerMinute = callsPerMinute;
+    }
+
+    public long getCallsPerDay() {
+        return callsPerDay;
+    }
+
+    public void setCallsPerDay(long callsPerDay) {
+        this.callsPerDay = callsPerDay;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    private static long callsPerMinute(SubscriptionPlan subscriptionPlan) {
+        switch (subscriptionPlan) {
+            case FREE:
+                return 60;
+            case STARTUP:
+                return 600;
+            case DEVELOPER:
+                return 3000;
+            case PROFESSIONAL:
+                return 30000;
+            case ENTERPRISE:
+                return 200000;
+            default:
+                throw new IllegalArgumentException("Subscription plan " + subscriptionPlan + " has no fixed limits.");
+        }
+    }
+
+    private static long callsPerMonth(SubscriptionPlan subscriptionPlan) {
+        switch (subscriptionPlan) {
+            case FREE:
+                return 1_000_000L;
+            case STARTUP:
+                return 10_000_000L;
+            case DEVELOPER:
+                return 100_000_000L;
+            case PROFESSIONAL:
+                return 1_000_000_000L;
+            case ENTERPRISE:
+                return 5_000_000_000L;
+            default:
+                throw new IllegalArgumentException("Subscription plan " + subscriptionPlan + " has no fixed limits.");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.conf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the in-memory response cache. Results are kept for the TTL of their endpoint,
+ * e.g. <code>weather</code> or <code>air_pollution/history</code>, or for the default TTL.
+ * Optionally expired results are served for the stale-while-revalidate period while they are refreshed in background.
+ * Unknown locations and invalid requests are remembered for the separate negative TTL.
+ * Raw responses can be stored in the disk tier as well, so the cache survives restarts.
+ */
+public class ResponseCacheSettings {
+    private int maxEntries;
+    private long defaultTtl;
+    private long staleWhileRevalidate;
+    private long negativeTtl = 60000;
+    private DiskCacheSettings diskCacheSettings;
+    private final Map<String, Long> endpointTtls = new HashMap<>();
+
+    public ResponseCacheSettings() {
+        this(10000, 600000);
+    }
+
+    /**
+     * Instantiates response cache settings.
+     *
+     * @param maxEntries maximum number of the cached results, the least recently used ones are evicted.
+     * @param defaultTtl time in milliseconds results are kept for unless TTL of their endpoint is set.
+     *                   Default is 10 minutes that is the update cycle of the current weather.
+     */
+    public ResponseCacheSettings(int maxEntries, long defaultTtl) {
+        this.maxEntries = maxEntries;
+        this.defaultTtl = defaultTtl;
+    }
+
+    public ResponseCacheSettings(ResponseCacheSettings from) {
+        this(from.maxEntries, from.defaultTtl);
+        this.staleWhileRevalidate = from.staleWhileRevalidate;
+        this.negativeTtl = from.negativeTtl;
+        this.diskCacheSettings = from.diskCacheSettings != null ? new DiskCacheSettings(from.diskCacheSettings) : null;
+        this.endpointTtls.putAll(from.endpointTtls);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(long defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public long getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Sets period after TTL during which the expired result is still returned immediately
+     * and a single background refresh of it is triggered. After that period callers wait for the new result.
+     *
+     * @param staleWhileRevalidate time in milliseconds, 0 (default) disables serving of expired results.
+     */
+    public void setStaleWhileRevalidate(long staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public long getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    /**
+     * Sets time the <code>404</code> and <code>400</code> responses are remembered for, so repeated requests for an unknown location
+     * fail without spending the quota. Transient failures, e.g. timeouts or <code>5xx</code> responses, are never cached.
+     *
+     * @param negativeTtl time in milliseconds, default is 1 minute, 0 disables negative caching.
+     */
+    public void setNegativeTtl(long negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public DiskCacheSettings getDiskCacheSettings() {
+        return diskCacheSettings;
+    }
+
+    /**
+     * Sets disk tier settings. Results missing in memory are restored from the stored responses that aren't expired yet,
+     * negative results aren't stored.
+     *
+     * @param diskCacheSettings disk tier settings, null (default) disables the disk tier.
+     */
+    public void setDiskCacheSettings(DiskCacheSettings diskCacheSettings) {
+        this.diskCacheSettings = diskCacheSettings;
+    }
+
+    /**
+     * Sets TTL of the endpoint results.
+     *
+     * @param endpoint endpoint, e.g. <code>forecast</code>.
+     * @param ttl time in milliseconds, 0 disables caching of the endpoint.
+     */
+    public void setTtl(String endpoint, long ttl) {
+        endpointTtls.put(endpoint, ttl);
+    }
+
+    /**
+     * @param endpoint endpoint, e.g. <code>forecast</code>.
+     * @return TTL of the endpoint results in milliseconds.
+     */
+    public long getTtl(String endpoint) {
+        return endpointTtls.getOrDefault(endpoint, defaultTtl);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+/**
+ * Retry policy of the idempotent API requests. Requests are retried on network errors and on
+ * <code>429</code>, <code>500</code>, <code>502</code>, <code>503</code> and <code>504</code> responses
+ * with capped exponential backoff and jitter. <code>Retry-After</code> header is honored.
+ */
+public class RetrySettings {
+    private int maxAttempts;
+    private long initialBackoff;
+    private long maxBackoff;
+    private double multiplier;
+    private double jitter;
+
+    public RetrySettings() {
+        this(3, 200, 10000, 2.0, 0.5);
+    }
+
+    /**
+     * Instantiates retry settings.
+     *
+     * @param maxAttempts maximum number of attempts including the first one, 1 disables retries.
+     * @param initialBackoff delay before the first retry in milliseconds.
+     * @param maxBackoff maximum delay between attempts in milliseconds. Longer <code>Retry-After</code> delays are not waited for.
+     * @param multiplier growth factor of the delay after each attempt.
+     * @param jitter fraction of the delay that is randomized, from 0 to 1.
+     */
+    public RetrySettings(int maxAttempts, long initialBackoff, long maxBackoff, double multiplier, double jitter) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    public RetrySettings(RetrySettings from) {
+        this(from.maxAttempts, from.initialBackoff, from.maxBackoff, from.multiplier, from.jitter);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+}
@@ -25,19 +25,34 @@ package com.github.prominence.openweathermap.api.conf;
 public class TimeoutSettings {
     private Integer connectionTimeout;
     private Integer readTimeout;
+    private Integer totalTimeout;
 
     public TimeoutSettings() {
         this(2000, 2000);
     }
 
     public TimeoutSettings(Integer connectionTimeout, Integer readTimeout) {
+        this(connectionTimeout, readTimeout, null);
+    }
+
+    /**
+     * Instantiates timeout settings.
+     *
+     * @param connectionTimeout connection timeout in milliseconds.
+     * @param readTimeout timeout of a single read from the connection in milliseconds.
+     * @param totalTimeout end-to-end deadline of the whole request in milliseconds: waiting for a free connection, DNS lookup,
+     *                     connect, TLS handshake, body transfer and parsing. Null means no deadline.
+     */
+    public TimeoutSettings(Integer connectionTimeout, Integer readTimeout, Integer totalTimeout) {
         this.connectionTimeout = connectionTimeout;
         this.readTimeout = readTimeout;
+        this.totalTimeout = totalTimeout;
     }
 
     public TimeoutSettings(TimeoutSettings from) {
         this.connectionTimeout = from.connectionTimeout;
         this.readTimeout = from.readTimeout;
+        this.totalTimeout = from.totalTimeout;
     }
 
     public Integer getConnectionTimeout() {
@@ -55,4 +70,12 @@ public class TimeoutSettings {
     public void setReadTimeout(Integer readTimeout) {
         this.readTimeout = readTimeout;
     }
-}
\ No newline at end of file
+
+    public Integer getTotalTimeout() {
+        return totalTimeout;
+    }
+
+    public void setTotalTimeout(Integer totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+}
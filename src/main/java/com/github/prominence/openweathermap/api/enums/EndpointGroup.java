@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.enums;
+
+/**
+ * Groups of API endpoints that share resource limits, e.g. bulkheads.
+ */
+public enum EndpointGroup {
+    /**
+     * Current weather endpoints: <code>weather</code>, <code>find</code> and <code>box/city</code>.
+     */
+    CURRENT_WEATHER,
+
+    /**
+     * 5 day / 3 hour forecast endpoint.
+     */
+    FORECAST,
+
+    /**
+     * One Call endpoints including historical <code>onecall/timemachine</code> one.
+     */
+    ONE_CALL,
+
+    /**
+     * Air pollution endpoints: current, forecast and history.
+     */
+    AIR_POLLUTION,
+
+    /**
+     * Any other endpoint.
+     */
+    OTHER;
+
+    /**
+     * Resolves group of the endpoint.
+     *
+     * @param endpoint endpoint path relative to the API version, e.g. <code>onecall/timemachine</code>.
+     * @return endpoint group, {@link #OTHER} for unknown or missing endpoint.
+     */
+    public static EndpointGroup of(String endpoint) {
+        if (endpoint == null) {
+            return OTHER;
+        }
+        final String root = endpoint.indexOf('/') >= 0 ? endpoint.substring(0, endpoint.indexOf('/')) : endpoint;
+        switch (root) {
+            case "weather":
+            case "find":
+            case "box":
+                return CURRENT_WEATHER;
+            case "forecast":
+                return FORECAST;
+            case "onecall":
+                return ONE_CALL;
+            case "air_pollution":
+                return AIR_POLLUTION;
+            default:
+                return OTHER;
+        }
+    }
+}
@@ -38,6 +38,14 @@ public class NoDataFoundException extends RuntimeException {
         super("Data for provided parameters wasn't found. Please, check requested location.");
     }
 
+    /**
+     * Creates {@link NoDataFoundException} with provided message.
+     * @param message the detail message.
+     */
+    protected NoDataFoundException(String message) {
+        super(message);
+    }
+
     /**
      * Creates {@link NoDataFoundException} with message from another throwable.
      * @param throwable source throwable.
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.key;
+
+import com.github.prominence.openweathermap.api.conf.RateLimitSettings;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.transport.RateLimiter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API key of the {@link ApiKeyPool} together with its subscription plans, quota and usage counters.
+ */
+public class ApiKey {
+    /**
+     * Weight of the latest request in the exponentially weighted error rate.
+     */
+    private static final double ERROR_RATE_WEIGHT = 0.1;
+
+    private final String value;
+    private final Set<SubscriptionPlan> plans;
+    private final RateLimiter quota;
+    private final AtomicLong requests = new AtomicLong();
+    private final Set<String> rejectedEndpoints = ConcurrentHashMap.newKeySet();
+    private volatile double errorRate;
+    private volatile boolean blacklisted;
+
+    /**
+     * Instantiates API key with the quota of its subscription plan, see {@link RateLimitSettings#RateLimitSettings(SubscriptionPlan)}.
+     * If there are several plans, e.g. {@link SubscriptionPlan#DEVELOPER} and {@link SubscriptionPlan#SPECIAL} for One Call by Call subscription,
+     * the quota of the first plan with fixed limits is used.
+     *
+     * @param value API key.
+     * @param plans subscription plans of the key.
+     */
+    public ApiKey(String value, SubscriptionPlan... plans) {
+        this(value, defaultQuota(plans), plans);
+    }
+
+    /**
+     * Instantiates API key.
+     *
+     * @param value API key.
+     * @param quota calls limit of the key or null if it's unlimited. Key isn't selected while its limit is reached.
+     * @param plans subscription plans of the key.
+     */
+    public ApiKey(String value, RateLimitSettings quota, SubscriptionPlan... plans) {
+        this.value = value;
+        this.plans = plans.length == 0 ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(plans)));
+        if (quota != null) {
+            final RateLimitSettings nonBlockingQuota = new RateLimitSettings(quota);
+            nonBlockingQuota.setBlocking(false);
+            this.quota = new RateLimiter(nonBlockingQuota);
+        } else {
+            this.quota = null;
+        }
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Set<SubscriptionPlan> getPlans() {
+        return plans;
+    }
+
+    /**
+     * @return rate limiter that tracks quota of the key or null if the key is unlimited.
+     */
+    public RateLimiter getQuota() {
+        return quota;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return exponentially weighted share of recent requests that were throttled or failed on the server side, from 0 to 1.
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * @return true if the key was rejected as invalid and isn't used anymore.
+     */
+    public boolean isBlacklisted() {
+        return blacklisted;
+    }
+
+    /**
+     * @return endpoints that rejected the key as unauthorized, e.g. because they aren't included in its subscription plan.
+     */
+    public Set<String> getRejectedEndpoints() {
+        return Collections.unmodifiableSet(rejectedEndpoints);
+    }
+
+    /**
+     * Checks whether the key can be used for API that requires the plan.
+     *
+     * @param requiredPlan required plan, {@link SubscriptionPlan#ALL} or null if any plan fits.
+     * @return true if the key has the plan.
+     */
+    public boolean supports(SubscriptionPlan requiredPlan) {
+        return requiredPlan == null || requiredPlan == SubscriptionPlan.ALL || plans.contains(requiredPlan);
+    }
+
+    boolean isRejected(String endpoint) {
+        return endpoint != null && rejectedEndpoints.contains(endpoint);
+    }
+
+    long getAvailablePermits() {
+        return quota != null ? Math.min(quota.getAvailableMinutePermits(), quota.getAvailableDayPermits()) : Long.MAX_VALUE;
+    }
+
+    boolean tryAcquire() {
+        if (quota != null && !quota.tryAcquire()) {
+            return false;
+        }
+        requests.incrementAndGet();
+        return true;
+    }
+
+    void charge() {
+        if (quota != null) {
+            quota.forceAcquire();
+        }
+        requests.incrementAndGet();
+    }
+
+    /**
+     * @return number of endpoints that rejected the key.
+     */
+    int reject(String endpoint) {
+        rejectedEndpoints.add(endpoint);
+        return rejectedEndpoints.size();
+    }
+
+    synchronized void recordResult(boolean error) {
+        errorRate = errorRate * (1 - ERROR_RATE_WEIGHT) + (error ? ERROR_RATE_WEIGHT : 0);
+    }
+
+    void blacklist() {
+        blacklisted = true;
+    }
+
+    @Override
+    public String toString() {
+        // don't expose the key itself
+        final String maskedValue = value == null || value.length() <= 4 ? "****" : "****" + value.substring(value.length() - 4);
+        return "ApiKey: value=" + maskedValue + ", plans=" + plans + ", requests=" + requests + ", errorRate=" + errorRate
+                + ", rejectedEndpoints=" + rejectedEndpoints + ", blacklisted=" + blacklisted;
+    }
+
+    private static RateLimitSettings defaultQuota(SubscriptionPlan[] plans) {
+        for (SubscriptionPlan plan : plans) {
+            if (plan != SubscriptionPlan.ALL && plan != SubscriptionPlan.SPECIAL) {
+                return new RateLimitSettings(plan);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.key;
+
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.exception.TransientResponseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of API keys. A key is selected per request among the ones that have the required subscription plan
+ * and free quota, preferring keys with more remaining quota and lower error rate, so the aggregate throughput
+ * can reach the sum of the keys' limits. Keys rejected as unauthorized are not used for that endpoint anymore, since the API
+ * responds so to the endpoints outside of the key's plan too. Keys rejected by several endpoints are blacklisted as invalid.
+ */
+public class ApiKeyPool {
+    /**
+     * Number of endpoints that must reject the key before it is blacklisted.
+     */
+    private static final int BLACKLIST_THRESHOLD = 3;
+
+    private final List<ApiKey> apiKeys;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * Instantiates a new pool.
+     *
+     * @param apiKeys API keys.
+     */
+    public ApiKeyPool(ApiKey... apiKeys) {
+        this(Arrays.asList(apiKeys));
+    }
+
+    /**
+     * Instantiates a new pool.
+     *
+     * @param apiKeys API keys.
+     */
+    public ApiKeyPool(List<ApiKey> apiKeys) {
+        if (apiKeys.isEmpty()) {
+            throw new IllegalArgumentException("API key pool must contain at least one key.");
+        }
+        this.apiKeys = Collections.unmodifiableList(new ArrayList<>(apiKeys));
+    }
+
+    public List<ApiKey> getApiKeys() {
+        return apiKeys;
+    }
+
+    /**
+     * Selects a key for the request and takes a permit from its quota.
+     *
+     * @param requiredPlan plan required by the requested API or null if any plan fits.
+     * @return selected key.
+     * @throws InvalidAuthTokenException if there is no valid key with the required plan.
+     * @throws RateLimitExceededException if all suitable keys have reached their limits.
+     */
+    public ApiKey acquire(SubscriptionPlan requiredPlan) {
+        return acquire(requiredPlan, null);
+    }
+
+    /**
+     * Selects a key for the request to the endpoint and takes a permit from its quota.
+     *
+     * @param requiredPlan plan required by the requested API or null if any plan fits.
+     * @param endpoint requested endpoint, e.g. <code>weather</code>, or null if it's unknown.
+     * @return selected key.
+     * @throws InvalidAuthTokenException if there is no valid key with the required plan that wasn't rejected by the endpoint.
+     * @throws RateLimitExceededException if all suitable keys have reached their limits.
+     */
+    public ApiKey acquire(SubscriptionPlan requiredPlan, String endpoint) {
+        final List<ApiKey> candidates = new ArrayList<>(apiKeys.size());
+        for (ApiKey apiKey : apiKeys) {
+            if (!apiKey.isBlacklisted() && apiKey.supports(requiredPlan) && !apiKey.isRejected(endpoint)) {
+                candidates.add(apiKey);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new InvalidAuthTokenException();
+        }
+
+        // rotate the starting point to spread requests between equal keys
+        final int offset = Math.floorMod(nextIndex.getAndIncrement(), candidates.size());
+        Collections.rotate(candidates, -offset);
+        // scores change concurrently, so they are taken once to keep the ordering consistent
+        final Map<ApiKey, Double> scores = new IdentityHashMap<>(candidates.size());
+        candidates.forEach(apiKey -> scores.put(apiKey, score(apiKey)));
+        candidates.sort((first, second) -> Double.compare(scores.get(second), scores.get(first)));
+        for (ApiKey apiKey : candidates) {
+            if (apiKey.tryAcquire()) {
+                return apiKey;
+            }
+        }
+        throw new RateLimitExceededException("All API keys " + (requiredPlan != null ? "with " + requiredPlan + " plan " : "") + "have reached their limits.");
+    }
+
+    /**
+     * Records result of the request made with the key.
+     *
+     * @param apiKey the key.
+     * @param exception exception the request has failed with or null if it succeeded.
+     */
+    public void release(ApiKey apiKey, RuntimeException exception) {
+        release(apiKey, null, exception);
+    }
+
+    /**
+     * Records result of the request to the endpoint made with the key.
+     *
+     * @param apiKey the key.
+     * @param endpoint requested endpoint or null if it's unknown, then the key is blacklisted right away if it's rejected.
+     * @param exception exception the request has failed with or null if it succeeded.
+     */
+    public void release(ApiKey apiKey, String endpoint, RuntimeException exception) {
+        if (exception instanceof InvalidAuthTokenException && (endpoint == null || apiKey.reject(endpoint) >= BLACKLIST_THRESHOLD)) {
+            apiKey.blacklist();
+        }
+        apiKey.recordResult(exception instanceof TransientResponseException);
+    }
+
+    /**
+     * Charges the quota of the key for one more call, e.g. retried or hedged request. The call is made even if the quota is reached.
+     *
+     * @param apiKey the key.
+     */
+    public void charge(ApiKey apiKey) {
+        apiKey.charge();
+    }
+
+    private static double score(ApiKey apiKey) {
+        final long availablePermits = apiKey.getAvailablePermits();
+        return (availablePermits == Long.MAX_VALUE ? Double.MAX_VALUE : availablePermits) * (1 - apiKey.getErrorRate());
+    }
+}
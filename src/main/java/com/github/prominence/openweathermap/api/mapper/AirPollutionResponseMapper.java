@@ -30,6 +30,8 @@ import com.github.prominence.openweathermap.api.model.Coordinate;
 import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
 import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionRecord;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -40,6 +42,8 @@ import java.util.TimeZone;
  * The type Air pollution response mapper.
  */
 public class AirPollutionResponseMapper {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /**
      * Map to air pollution air pollution.
      *
@@ -47,13 +51,48 @@ public class AirPollutionResponseMapper {
      * @return the air pollution
      */
     public AirPollutionDetails mapToAirPollution(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         AirPollutionDetails airPollutionDetails;
         try {
             final JsonNode root = objectMapper.readTree(json);
             airPollutionDetails = mapToAirPollution(root);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Cannot parse Air Pollution response");
+            throw new RuntimeException("Cannot parse Air Pollution response", e);
+        }
+
+        return airPollutionDetails;
+    }
+
+    /**
+     * Same as {@link #mapToAirPollution(String)}, but parses response directly from the stream without building <code>String</code> first.
+     *
+     * @param inputStream the json stream
+     * @return the air pollution
+     */
+    public AirPollutionDetails mapToAirPollution(InputStream inputStream) {
+        AirPollutionDetails airPollutionDetails;
+        try {
+            final JsonNode root = objectMapper.readTree(inputStream);
+            airPollutionDetails = mapToAirPollution(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Air Pollution response", e);
+        }
+
+        return airPollutionDetails;
+    }
+
+    /**
+     * Same as {@link #mapToAirPollution(String)}, but parses raw UTF-8 encoded response.
+     *
+     * @param json the json bytes
+     * @return the air pollution
+     */
+    public AirPollutionDetails mapToAirPollution(byte[] json) {
+        AirPollutionDetails airPollutionDetails;
+        try {
+            final JsonNode root = objectMapper.readTree(json);
+            airPollutionDetails = mapToAirPollution(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Air Pollution response", e);
         }
 
         return airPollutionDetails;
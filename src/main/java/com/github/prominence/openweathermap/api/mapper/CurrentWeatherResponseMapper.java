@@ -29,6 +29,8 @@ import com.github.prominence.openweathermap.api.model.weather.*;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
 import com.github.prominence.openweathermap.api.model.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -83,6 +85,8 @@ import java.util.TimeZone;
  * --- cod Internal parameter
  */
 public class CurrentWeatherResponseMapper {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     private final UnitSystem unitSystem;
 
     /**
@@ -101,13 +105,48 @@ public class CurrentWeatherResponseMapper {
      * @return the weather object
      */
     public Weather getSingle(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         Weather weather;
         try {
             final JsonNode root = objectMapper.readTree(json);
             weather = getSingle(root);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Cannot parse Weather response");
+            throw new RuntimeException("Cannot parse Weather response", e);
+        }
+
+        return weather;
+    }
+
+    /**
+     * Same as {@link #getSingle(String)}, but parses response directly from the stream without building <code>String</code> first.
+     *
+     * @param inputStream the json stream
+     * @return the weather object
+     */
+    public Weather getSingle(InputStream inputStream) {
+        Weather weather;
+        try {
+            final JsonNode root = objectMapper.readTree(inputStream);
+            weather = getSingle(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response", e);
+        }
+
+        return weather;
+    }
+
+    /**
+     * Same as {@link #getSingle(String)}, but parses raw UTF-8 encoded response.
+     *
+     * @param json the json bytes
+     * @return the weather object
+     */
+    public Weather getSingle(byte[] json) {
+        Weather weather;
+        try {
+            final JsonNode root = objectMapper.readTree(json);
+            weather = getSingle(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response", e);
         }
 
         return weather;
@@ -143,15 +182,45 @@ public class CurrentWeatherResponseMapper {
      * @return the list of weathers
      */
     public List<Weather> getList(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        final List<Weather> weatherList = new ArrayList<>();
         try {
-            final JsonNode root = objectMapper.readTree(json);
-            final JsonNode listNode = root.get("list");
-            listNode.forEach(jsonNode -> weatherList.add(getSingle(jsonNode)));
+            return getList(objectMapper.readTree(json));
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Cannot parse Weather response");
+            throw new RuntimeException("Cannot parse Weather response", e);
+        }
+    }
+
+    /**
+     * Same as {@link #getList(String)}, but parses response directly from the stream without building <code>String</code> first.
+     *
+     * @param inputStream the json stream
+     * @return the list of weathers
+     */
+    public List<Weather> getList(InputStream inputStream) {
+        try {
+            return getList(objectMapper.readTree(inputStream));
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response", e);
         }
+    }
+
+    /**
+     * Same as {@link #getList(String)}, but parses raw UTF-8 encoded response.
+     *
+     * @param json the json bytes
+     * @return the list of weathers
+     */
+    public List<Weather> getList(byte[] json) {
+        try {
+            return getList(objectMapper.readTree(json));
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response", e);
+        }
+    }
+
+    private List<Weather> getList(JsonNode root) {
+        final List<Weather> weatherList = new ArrayList<>();
+        final JsonNode listNode = root.get("list");
+        listNode.forEach(jsonNode -> weatherList.add(getSingle(jsonNode)));
 
         return weatherList;
     }
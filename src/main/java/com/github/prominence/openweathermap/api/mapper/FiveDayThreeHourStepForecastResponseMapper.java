@@ -33,6 +33,8 @@ import com.github.prominence.openweathermap.api.model.forecast.Rain;
 import com.github.prominence.openweathermap.api.model.forecast.Snow;
 import com.github.prominence.openweathermap.api.model.Temperature;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -87,6 +89,8 @@ import java.util.TimeZone;
  *      |- city.timezone Shift in seconds from UTC
  */
 public class FiveDayThreeHourStepForecastResponseMapper {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     private final UnitSystem unitSystem;
 
     /**
@@ -105,13 +109,48 @@ public class FiveDayThreeHourStepForecastResponseMapper {
      * @return the forecast
      */
     public Forecast mapToForecast(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         Forecast forecast;
         try {
             final JsonNode root = objectMapper.readTree(json);
             forecast = mapToForecast(root);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Cannot parse Forecast response");
+            throw new RuntimeException("Cannot parse Forecast response", e);
+        }
+
+        return forecast;
+    }
+
+    /**
+     * Same as {@link #mapToForecast(String)}, but parses response directly from the stream without building <code>String</code> first.
+     *
+     * @param inputStream the json stream
+     * @return the forecast
+     */
+    public Forecast mapToForecast(InputStream inputStream) {
+        Forecast forecast;
+        try {
+            final JsonNode root = objectMapper.readTree(inputStream);
+            forecast = mapToForecast(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Forecast response", e);
+        }
+
+        return forecast;
+    }
+
+    /**
+     * Same as {@link #mapToForecast(String)}, but parses raw UTF-8 encoded response.
+     *
+     * @param json the json bytes
+     * @return the forecast
+     */
+    public Forecast mapToForecast(byte[] json) {
+        Forecast forecast;
+        try {
+            final JsonNode root = objectMapper.readTree(json);
+            forecast = mapToForecast(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Forecast response", e);
         }
 
         return forecast;
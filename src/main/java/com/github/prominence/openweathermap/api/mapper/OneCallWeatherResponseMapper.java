@@ -36,6 +36,8 @@ import com.github.prominence.openweathermap.api.model.onecall.historical.Histori
 import com.github.prominence.openweathermap.api.model.onecall.historical.HourlyHistorical;
 import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -48,6 +50,8 @@ import java.util.TimeZone;
  * Object mapper for OneCall API response.
  */
 public class OneCallWeatherResponseMapper {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     private final UnitSystem unitSystem;
 
     /**
@@ -66,13 +70,48 @@ public class OneCallWeatherResponseMapper {
      * @return the current data object
      */
     public CurrentWeatherData mapToCurrent(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         CurrentWeatherData currentData;
         try {
             final JsonNode root = objectMapper.readTree(json);
             currentData = mapToCurrent(root);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Cannot parse OneCall response");
+            throw new RuntimeException("Cannot parse OneCall response", e);
+        }
+
+        return currentData;
+    }
+
+    /**
+     * Same as {@link #mapToCurrent(String)}, but parses response directly from the stream without building <code>String</code> first.
+     *
+     * @param inputStream the json stream
+     * @return the current data object
+     */
+    public CurrentWeatherData mapToCurrent(InputStream inputStream) {
+        CurrentWeatherData currentData;
+        try {
+            final JsonNode root = objectMapper.readTree(inputStream);
+            currentData = mapToCurrent(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response", e);
+        }
+
+        return currentData;
+    }
+
+    /**
+     * Same as {@link #mapToCurrent(String)}, but parses raw UTF-8 encoded response.
+     *
+     * @param json the json bytes
+     * @return the current data object
+     */
+    public CurrentWeatherData mapToCurrent(byte[] json) {
+        CurrentWeatherData currentData;
+        try {
+            final JsonNode root = objectMapper.readTree(json);
+            currentData = mapToCurrent(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response", e);
         }
 
         return currentData;
@@ -85,13 +124,48 @@ public class OneCallWeatherResponseMapper {
      * @return the current data object
      */
     public HistoricalWeatherData mapToHistorical(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         HistoricalWeatherData historicalData;
         try {
             final JsonNode root = objectMapper.readTree(json);
             historicalData = mapToHistorical(root);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Cannot parse OneCall response");
+            throw new RuntimeException("Cannot parse OneCall response", e);
+        }
+
+        return historicalData;
+    }
+
+    /**
+     * Same as {@link #mapToHistorical(String)}, but parses response directly from the stream without building <code>String</code> first.
+     *
+     * @param inputStream the json stream
+     * @return the historical data object
+     */
+    public HistoricalWeatherData mapToHistorical(InputStream inputStream) {
+        HistoricalWeatherData historicalData;
+        try {
+            final JsonNode root = objectMapper.readTree(inputStream);
+            historicalData = mapToHistorical(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response", e);
+        }
+
+        return historicalData;
+    }
+
+    /**
+     * Same as {@link #mapToHistorical(String)}, but parses raw UTF-8 encoded response.
+     *
+     * @param json the json bytes
+     * @return the historical data object
+     */
+    public HistoricalWeatherData mapToHistorical(byte[] json) {
+        HistoricalWeatherData historicalData;
+        try {
+            final JsonNode root = objectMapper.readTree(json);
+            historicalData = mapToHistorical(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response", e);
         }
 
         return historicalData;
@@ -25,20 +25,40 @@ package com.github.prominence.openweathermap.api.request;
 import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.ResponseType;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.key.ApiKeyPool;
+import com.github.prominence.openweathermap.api.model.Coordinate;
+import com.github.prominence.openweathermap.api.transport.ContentDecodingTransport;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.HttpURLConnectionTransport;
+import com.github.prominence.openweathermap.api.utils.CoordinateQuantizer;
+import com.github.prominence.openweathermap.api.utils.RequestCoalescer;
+import com.github.prominence.openweathermap.api.utils.ResponseCache;
+import com.github.prominence.openweathermap.api.utils.RevalidationCache;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class RequestSettings {
 
     private static final String LANG_PARAM = "lang";
     private static final String UNITS_PARAM = "units";
     private static final String MODE_PARAM = "mode";
+    private static final String LATITUDE_PARAM = "lat";
+    private static final String LONGITUDE_PARAM = "lon";
     private static final String API_KEY_PARAM_NAME = "appid";
 
     private final TimeoutSettings timeoutSettings;
 
+    private final HttpTransport transport;
+
+    private final Executor executor;
+
+    private final ApiKeyPool apiKeyPool;
+
     private final Map<String, String> requestParameters = new HashMap<>(8);
 
     private final StringBuilder urlAppenderBuilder = new StringBuilder("");
@@ -46,17 +66,120 @@ public class RequestSettings {
     private Language language = Language.ENGLISH;
     private UnitSystem unitSystem = UnitSystem.STANDARD;
     private boolean useApi3 = false;
+    private SubscriptionPlan requiredPlan = SubscriptionPlan.ALL;
+    private RequestCoalescer requestCoalescer;
+    private RevalidationCache revalidationCache;
+    private ResponseCache responseCache;
+    private CoordinateQuantizer coordinateQuantizer;
 
     public RequestSettings(String apiKey, TimeoutSettings timeoutSettings) {
+        this(apiKey, timeoutSettings, new ContentDecodingTransport(new HttpURLConnectionTransport()));
+    }
+
+    public RequestSettings(String apiKey, TimeoutSettings timeoutSettings, HttpTransport transport) {
+        this(apiKey, timeoutSettings, transport, ForkJoinPool.commonPool());
+    }
+
+    public RequestSettings(String apiKey, TimeoutSettings timeoutSettings, HttpTransport transport, Executor executor) {
         this.putRequestParameter(API_KEY_PARAM_NAME, apiKey);
         // make a copy
         this.timeoutSettings = new TimeoutSettings(timeoutSettings);
+        this.transport = transport;
+        this.executor = executor;
+        this.apiKeyPool = null;
+    }
+
+    /**
+     * Instantiates request settings that take API key from the pool for every request execution.
+     *
+     * @param apiKeyPool API key pool.
+     * @param timeoutSettings timeout settings, copied.
+     * @param transport transport to execute request with.
+     * @param executor executor for asynchronous work.
+     */
+    public RequestSettings(ApiKeyPool apiKeyPool, TimeoutSettings timeoutSettings, HttpTransport transport, Executor executor) {
+        // make a copy
+        this.timeoutSettings = new TimeoutSettings(timeoutSettings);
+        this.transport = transport;
+        this.executor = executor;
+        this.apiKeyPool = apiKeyPool;
     }
 
     public TimeoutSettings getTimeoutSettings() {
         return timeoutSettings;
     }
 
+    public void setTotalTimeout(int totalTimeout) {
+        this.timeoutSettings.setTotalTimeout(totalTimeout);
+    }
+
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return API key pool or null if the single API key is set as request parameter.
+     */
+    public ApiKeyPool getApiKeyPool() {
+        return apiKeyPool;
+    }
+
+    public SubscriptionPlan getRequiredPlan() {
+        return requiredPlan;
+    }
+
+    public void setRequiredPlan(SubscriptionPlan requiredPlan) {
+        this.requiredPlan = requiredPlan;
+    }
+
+    /**
+     * @return request coalescer or null if identical requests are executed independently.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * @return revalidation cache or null if requests aren't conditional.
+     */
+    public RevalidationCache getRevalidationCache() {
+        return revalidationCache;
+    }
+
+    public void setRevalidationCache(RevalidationCache revalidationCache) {
+        this.revalidationCache = revalidationCache;
+    }
+
+    /**
+     * @return response cache or null if results aren't cached.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * @return coordinate quantizer or null if coordinates are sent as is.
+     */
+    public CoordinateQuantizer getCoordinateQuantizer() {
+        return coordinateQuantizer;
+    }
+
+    public void setCoordinateQuantizer(CoordinateQuantizer coordinateQuantizer) {
+        this.coordinateQuantizer = coordinateQuantizer;
+    }
+
     public UnitSystem getUnitSystem() {
         return unitSystem;
     }
@@ -83,6 +206,17 @@ public class RequestSettings {
         this.requestParameters.put(key, value);
     }
 
+    /**
+     * Puts latitude and longitude parameters quantized by the coordinate quantizer if it is set.
+     *
+     * @param coordinate coordinate
+     */
+    public void putCoordinate(Coordinate coordinate) {
+        final Coordinate requestCoordinate = coordinateQuantizer != null ? coordinateQuantizer.quantize(coordinate) : coordinate;
+        this.putRequestParameter(LATITUDE_PARAM, String.valueOf(requestCoordinate.getLatitude()));
+        this.putRequestParameter(LONGITUDE_PARAM, String.valueOf(requestCoordinate.getLongitude()));
+    }
+
     public void removeRequestParameter(String key) {
         this.requestParameters.remove(key);
     }
@@ -47,14 +47,14 @@ public class AirPollutionAsyncRequestTerminator {
     }
 
     public CompletableFuture<AirPollutionDetails> asJava() {
-        return CompletableFuture.supplyAsync(() -> new AirPollutionResponseMapper().mapToAirPollution(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, AirPollutionDetails.class.getName(), new AirPollutionResponseMapper()::mapToAirPollution);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
@@ -41,6 +41,11 @@ public class AirPollutionRequestCustomizer {
         this.requestSettings = requestSettings;
     }
 
+    public AirPollutionRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public AirPollutionRequestTerminator retrieve() {
         return new AirPollutionRequestTerminator(requestSettings);
     }
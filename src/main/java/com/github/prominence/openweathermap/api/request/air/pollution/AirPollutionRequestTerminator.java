@@ -45,7 +45,7 @@ public class AirPollutionRequestTerminator {
     }
 
     public AirPollutionDetails asJava() {
-        return new AirPollutionResponseMapper().mapToAirPollution(getRawResponse());
+        return RequestUtils.getResponse(requestSettings, AirPollutionDetails.class.getName(), new AirPollutionResponseMapper()::mapToAirPollution);
     }
 
     public String asJSON() {
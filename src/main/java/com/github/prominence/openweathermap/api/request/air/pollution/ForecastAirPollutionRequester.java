@@ -41,8 +41,7 @@ public class ForecastAirPollutionRequester {
     }
 
     public AirPollutionRequestCustomizer byCoordinate(Coordinate coordinate) {
-        requestSettings.putRequestParameter("lat", String.valueOf(coordinate.getLatitude()));
-        requestSettings.putRequestParameter("lon", String.valueOf(coordinate.getLongitude()));
+        requestSettings.putCoordinate(coordinate);
         return new AirPollutionRequestCustomizer(requestSettings);
     }
 }
@@ -41,8 +41,7 @@ public class HistoricalAirPollutionRequester {
     }
 
     public AirPollutionRequestCustomizer byCoordinateAndPeriod(Coordinate coordinate, long startUnixTime, long endUnixTime) {
-        requestSettings.putRequestParameter("lat", String.valueOf(coordinate.getLatitude()));
-        requestSettings.putRequestParameter("lon", String.valueOf(coordinate.getLongitude()));
+        requestSettings.putCoordinate(coordinate);
         requestSettings.putRequestParameter("start", String.valueOf(startUnixTime));
         requestSettings.putRequestParameter("end", String.valueOf(endUnixTime));
         return new AirPollutionRequestCustomizer(requestSettings);
@@ -46,19 +46,19 @@ public class FiveDayThreeHourStepForecastAsyncRequestTerminator {
     }
 
     public CompletableFuture<Forecast> asJava() {
-        return CompletableFuture.supplyAsync(() -> new FiveDayThreeHourStepForecastResponseMapper(requestSettings.getUnitSystem()).mapToForecast(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, Forecast.class.getName(), new FiveDayThreeHourStepForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecast);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
     public CompletableFuture<String> asXML() {
         requestSettings.setResponseType(ResponseType.XML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
@@ -56,6 +56,11 @@ public class FiveDayThreeHourStepForecastRequestCustomizer {
         return this;
     }
 
+    public FiveDayThreeHourStepForecastRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public FiveDayThreeHourStepForecastRequestTerminator retrieve() {
         return new FiveDayThreeHourStepForecastRequestTerminator(requestSettings);
     }
@@ -44,7 +44,7 @@ public class FiveDayThreeHourStepForecastRequestTerminator {
     }
 
     public Forecast asJava() {
-        return new FiveDayThreeHourStepForecastResponseMapper(requestSettings.getUnitSystem()).mapToForecast(getRawResponse());
+        return RequestUtils.getResponse(requestSettings, Forecast.class.getName(), new FiveDayThreeHourStepForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecast);
     }
 
     public String asJSON() {
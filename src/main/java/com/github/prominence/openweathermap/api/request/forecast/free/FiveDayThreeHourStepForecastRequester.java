@@ -62,8 +62,7 @@ public class FiveDayThreeHourStepForecastRequester {
     }
 
     public FiveDayThreeHourStepForecastRequestCustomizer byCoordinate(Coordinate coordinate) {
-        requestSettings.putRequestParameter("lat", String.valueOf(coordinate.getLatitude()));
-        requestSettings.putRequestParameter("lon", String.valueOf(coordinate.getLongitude()));
+        requestSettings.putCoordinate(coordinate);
         return new FiveDayThreeHourStepForecastRequestCustomizer(requestSettings);
     }
 
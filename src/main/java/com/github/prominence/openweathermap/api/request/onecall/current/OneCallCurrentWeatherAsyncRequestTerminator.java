@@ -45,14 +45,14 @@ public class OneCallCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<CurrentWeatherData> asJava() {
-        return CompletableFuture.supplyAsync(() -> new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToCurrent(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, CurrentWeatherData.class.getName(), new OneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToCurrent);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
@@ -64,6 +64,11 @@ public class OneCallCurrentWeatherRequestCustomizer {
         return this;
     }
 
+    public OneCallCurrentWeatherRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public OneCallCurrentWeatherRequestTerminator retrieve() {
         return new OneCallCurrentWeatherRequestTerminator(requestSettings);
     }
@@ -43,7 +43,7 @@ public class OneCallCurrentWeatherRequestTerminator {
     }
 
     public CurrentWeatherData asJava() {
-        return new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToCurrent(getRawResponse());
+        return RequestUtils.getResponse(requestSettings, CurrentWeatherData.class.getName(), new OneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToCurrent);
     }
 
     public String asJSON() {
@@ -42,8 +42,7 @@ public class OneCallCurrentWeatherRequester {
     }
 
     public OneCallCurrentWeatherRequestCustomizer byCoordinate(Coordinate coordinate) {
-        requestSettings.putRequestParameter("lat", String.valueOf(coordinate.getLatitude()));
-        requestSettings.putRequestParameter("lon", String.valueOf(coordinate.getLongitude()));
+        requestSettings.putCoordinate(coordinate);
         return new OneCallCurrentWeatherRequestCustomizer(requestSettings);
     }
 }
@@ -45,14 +45,14 @@ public class OneCallHistoricalWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<HistoricalWeatherData> asJava() {
-        return CompletableFuture.supplyAsync(() -> new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToHistorical(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, HistoricalWeatherData.class.getName(), new OneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToHistorical);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
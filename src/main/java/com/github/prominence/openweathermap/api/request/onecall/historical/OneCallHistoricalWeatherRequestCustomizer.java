@@ -51,6 +51,11 @@ public class OneCallHistoricalWeatherRequestCustomizer {
         return this;
     }
 
+    public OneCallHistoricalWeatherRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public OneCallHistoricalWeatherRequestTerminator retrieve() {
         return new OneCallHistoricalWeatherRequestTerminator(requestSettings);
     }
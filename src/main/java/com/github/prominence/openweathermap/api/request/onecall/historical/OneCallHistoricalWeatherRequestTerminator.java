@@ -43,7 +43,7 @@ public class OneCallHistoricalWeatherRequestTerminator {
     }
 
     public HistoricalWeatherData asJava() {
-        return new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToHistorical(getRawResponse());
+        return RequestUtils.getResponse(requestSettings, HistoricalWeatherData.class.getName(), new OneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToHistorical);
     }
 
     public String asJSON() {
@@ -42,8 +42,7 @@ public class OneCallHistoricalWeatherRequester {
     }
 
     public OneCallHistoricalWeatherRequestCustomizer byCoordinateAndTimestamp(Coordinate coordinate, long unixTime) {
-        requestSettings.putRequestParameter("lat", Double.toString(coordinate.getLatitude()));
-        requestSettings.putRequestParameter("lon", Double.toString(coordinate.getLongitude()));
+        requestSettings.putCoordinate(coordinate);
         requestSettings.putRequestParameter("dt", Long.toString(unixTime));
         return new OneCallHistoricalWeatherRequestCustomizer(requestSettings);
     }
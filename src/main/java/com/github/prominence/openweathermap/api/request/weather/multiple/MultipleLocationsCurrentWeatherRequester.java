@@ -51,8 +51,7 @@ public class MultipleLocationsCurrentWeatherRequester {
 
     public MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer byCitiesInCycle(Coordinate point, int citiesCount) {
         requestSettings.appendToURL("find");
-        requestSettings.putRequestParameter("lat", Double.toString(point.getLatitude()));
-        requestSettings.putRequestParameter("lon", Double.toString(point.getLongitude()));
+        requestSettings.putCoordinate(point);
         requestSettings.putRequestParameter("cnt", Integer.toString(citiesCount));
 
         return new MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer(requestSettings);
@@ -60,8 +59,7 @@ public class MultipleLocationsCurrentWeatherRequester {
 
     public MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer byCitiesInCycle(Coordinate point) {
         requestSettings.appendToURL("find");
-        requestSettings.putRequestParameter("lat", Double.toString(point.getLatitude()));
-        requestSettings.putRequestParameter("lon", Double.toString(point.getLongitude()));
+        requestSettings.putCoordinate(point);
 
         return new MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer(requestSettings);
     }
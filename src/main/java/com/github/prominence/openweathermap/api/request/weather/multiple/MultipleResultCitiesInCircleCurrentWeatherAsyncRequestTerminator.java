@@ -47,19 +47,19 @@ public class MultipleResultCitiesInCircleCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<List<Weather>> asJava() {
-        return CompletableFuture.supplyAsync(() -> new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, "List<" + Weather.class.getName() + ">", new CurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
     public CompletableFuture<String> asXML() {
         requestSettings.setResponseType(ResponseType.XML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
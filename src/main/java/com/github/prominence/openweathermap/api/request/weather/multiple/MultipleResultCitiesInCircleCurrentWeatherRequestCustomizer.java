@@ -51,6 +51,11 @@ public class MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer {
         return this;
     }
 
+    public MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public MultipleResultCitiesInCircleCurrentWeatherRequestTerminator retrieve() {
         return new MultipleResultCitiesInCircleCurrentWeatherRequestTerminator(requestSettings);
     }
@@ -46,7 +46,7 @@ public class MultipleResultCitiesInCircleCurrentWeatherRequestTerminator {
     }
 
     public List<Weather> asJava() {
-        return new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse());
+        return RequestUtils.getResponse(requestSettings, "List<" + Weather.class.getName() + ">", new CurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public String asJSON() {
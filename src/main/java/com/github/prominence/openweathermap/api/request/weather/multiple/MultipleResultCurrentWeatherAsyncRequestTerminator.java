@@ -46,14 +46,14 @@ public class MultipleResultCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<List<Weather>> asJava() {
-        return CompletableFuture.supplyAsync(() -> new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, "List<" + Weather.class.getName() + ">", new CurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
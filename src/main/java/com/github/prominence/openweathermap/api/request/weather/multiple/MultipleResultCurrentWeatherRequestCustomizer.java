@@ -51,6 +51,11 @@ public class MultipleResultCurrentWeatherRequestCustomizer {
         return this;
     }
 
+    public MultipleResultCurrentWeatherRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public MultipleResultCurrentWeatherRequestTerminator retrieve() {
         return new MultipleResultCurrentWeatherRequestTerminator(requestSettings);
     }
@@ -45,7 +45,7 @@ public class MultipleResultCurrentWeatherRequestTerminator {
     }
 
     public List<Weather> asJava() {
-        return new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse());
+        return RequestUtils.getResponse(requestSettings, "List<" + Weather.class.getName() + ">", new CurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public String asJSON() {
@@ -62,8 +62,7 @@ public class SingleLocationCurrentWeatherRequester {
     }
 
     public SingleResultCurrentWeatherRequestCustomizer byCoordinate(Coordinate coordinate) {
-        requestSettings.putRequestParameter("lat", String.valueOf(coordinate.getLatitude()));
-        requestSettings.putRequestParameter("lon", String.valueOf(coordinate.getLongitude()));
+        requestSettings.putCoordinate(coordinate);
         return new SingleResultCurrentWeatherRequestCustomizer(requestSettings);
     }
 
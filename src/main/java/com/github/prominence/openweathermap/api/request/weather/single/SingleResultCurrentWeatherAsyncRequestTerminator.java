@@ -46,24 +46,24 @@ public class SingleResultCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<Weather> asJava() {
-        return CompletableFuture.supplyAsync(() -> new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getSingle(getRawResponse()));
+        return RequestUtils.getResponseAsync(requestSettings, Weather.class.getName(), new CurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getSingle);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
     public CompletableFuture<String> asXML() {
         requestSettings.setResponseType(ResponseType.XML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
     public CompletableFuture<String> asHTML() {
         requestSettings.setResponseType(ResponseType.HTML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return getRawResponse();
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private CompletableFuture<String> getRawResponse() {
+        return RequestUtils.getResponseAsync(requestSettings);
     }
 }
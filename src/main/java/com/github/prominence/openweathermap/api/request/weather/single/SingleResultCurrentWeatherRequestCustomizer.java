@@ -51,6 +51,11 @@ public class SingleResultCurrentWeatherRequestCustomizer {
         return this;
     }
 
+    public SingleResultCurrentWeatherRequestCustomizer totalTimeout(int totalTimeout) {
+        requestSettings.setTotalTimeout(totalTimeout);
+        return this;
+    }
+
     public SingleResultCurrentWeatherRequestTerminator retrieve() {
         return new SingleResultCurrentWeatherRequestTerminator(requestSettings);
     }
@@ -44,7 +44,7 @@ public class SingleResultCurrentWeatherRequestTerminator {
     }
 
     public Weather asJava() {
-        return new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getSingle(asJSON());
+        return RequestUtils.getResponse(requestSettings, Weather.class.getName(), new CurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getSingle);
     }
 
     public String asJSON() {
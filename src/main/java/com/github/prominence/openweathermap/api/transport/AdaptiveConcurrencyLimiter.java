@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.AdaptiveConcurrencySettings;
+import com.github.prominence.openweathermap.api.exception.ConcurrencyLimitExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit that adapts to the service capacity with AIMD: while the limit is in use and latency stays close to the
+ * no-load one, the limit grows by one with every response. Latency growth over the tolerance, network errors including timeouts
+ * and <code>429</code> responses cut the limit by the backoff ratio, at most once per latency period.
+ * Requests over the limit wait in a bounded FIFO queue the same way as with {@link Bulkhead}, the queue is served as the limit grows.
+ */
+public class AdaptiveConcurrencyLimiter extends PermitQueue {
+    private static final int LATENCY_WINDOW = 100;
+
+    private final AdaptiveConcurrencySettings settings;
+    private double limit;
+    private long baselineLatency = Long.MAX_VALUE;
+    private long windowMinLatency = Long.MAX_VALUE;
+    private int windowSamples;
+    private long smoothedLatency;
+    private long lastDecrease;
+
+    /**
+     * Instantiates a new limiter.
+     *
+     * @param settings limiter settings, copied.
+     */
+    public AdaptiveConcurrencyLimiter(AdaptiveConcurrencySettings settings) {
+        super(settings.getMaxWaitingCalls(), settings.getMaxWaitTime());
+        if (settings.getMinLimit() <= 0 || settings.getMaxLimit() < settings.getMinLimit()) {
+            throw new IllegalArgumentException("Limits must be positive and max limit must not be less than min limit.");
+        }
+        this.settings = new AdaptiveConcurrencySettings(settings);
+        this.limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), settings.getInitialLimit()));
+        this.lastDecrease = System.nanoTime();
+    }
+
+    /**
+     * @return current number of simultaneously executed requests allowed.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlightCalls() {
+        return usedPermits();
+    }
+
+    /**
+     * @return number of requests waiting for a permit.
+     */
+    public int getQueueDepth() {
+        return queueDepth();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls();
+    }
+
+    /**
+     * @return lowest latency observed recently in milliseconds or -1 if there were no responses yet.
+     */
+    public synchronized long getBaselineLatency() {
+        final long baseline = Math.min(baselineLatency, windowMinLatency);
+        return baseline == Long.MAX_VALUE ? -1 : baseline;
+    }
+
+    /**
+     * Adjusts the limit with the request outcome.
+     *
+     * @param latency time till the response in milliseconds.
+     * @param congested true if the request failed because of timeout or network error or was throttled.
+     */
+    void onSample(long latency, boolean congested) {
+        synchronized (this) {
+            if (!congested) {
+                windowMinLatency = Math.min(windowMinLatency, latency);
+                if (++windowSamples >= LATENCY_WINDOW) {
+                    // the baseline follows the service if it becomes permanently slower
+                    baselineLatency = windowMinLatency;
+                    windowMinLatency = Long.MAX_VALUE;
+                    windowSamples = 0;
+                }
+                smoothedLatency = smoothedLatency == 0 ? latency : (smoothedLatency * 4 + latency) / 5;
+                final long baseline = Math.max(1, Math.min(baselineLatency, windowMinLatency));
+                congested = smoothedLatency > baseline * settings.getLatencyTolerance();
+            }
+
+            if (congested) {
+                final long now = System.nanoTime();
+                // responses of the requests sent before the previous decrease don't reflect it yet
+                if (now - lastDecrease > TimeUnit.MILLISECONDS.toNanos(Math.max(1, smoothedLatency))) {
+                    limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+                    lastDecrease = now;
+                }
+            } else if (usedPermits() * 2 >= limit) {
+                limit = Math.min(settings.getMaxLimit(), limit + 1);
+            }
+        }
+        grantWaiting();
+    }
+
+    @Override
+    synchronized int permits() {
+        return (int) limit;
+    }
+
+    @Override
+    ConcurrencyLimitExceededException rejection() {
+        return new ConcurrencyLimitExceededException("Concurrency limit of " + getLimit() + " requests is reached.");
+    }
+
+    @Override
+    String description() {
+        return "concurrency limiter";
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptiveConcurrencyLimiter: limit=" + (int) limit + ", inFlightCalls=" + usedPermits() + ", queueDepth=" + queueDepth();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.AdaptiveConcurrencySettings;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport decorator that executes requests within the {@link AdaptiveConcurrencyLimiter} limit, so bulk workloads
+ * find the concurrency the service sustains instead of a fixed one. The permit is held until the response body is closed.
+ */
+public class AdaptiveConcurrencyTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private volatile AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Instantiates a new decorator that doesn't limit requests until {@link #setSettings(AdaptiveConcurrencySettings)} is called.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public AdaptiveConcurrencyTransport(HttpTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Replaces the limiter, requests being executed keep their permits of the previous one.
+     *
+     * @param settings limiter settings or null to disable limiting.
+     */
+    public void setSettings(AdaptiveConcurrencySettings settings) {
+        this.limiter = settings != null ? new AdaptiveConcurrencyLimiter(settings) : null;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final AdaptiveConcurrencyLimiter currentLimiter = limiter;
+        if (currentLimiter == null) {
+            return delegate.execute(request);
+        }
+
+        currentLimiter.acquire(request.getRemainingTime());
+        final long start = System.nanoTime();
+        final TransportResponse response;
+        try {
+            response = delegate.execute(request);
+        } catch (IOException ex) {
+            onError(currentLimiter, request, start);
+            throw ex;
+        } catch (RuntimeException ex) {
+            currentLimiter.release();
+            throw ex;
+        }
+        return onResponse(currentLimiter, response, start);
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final AdaptiveConcurrencyLimiter currentLimiter = limiter;
+        if (currentLimiter == null) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        final CompletableFuture<Void> permit = currentLimiter.acquireAsync();
+        request.onAbort(() -> currentLimiter.cancel(permit));
+        return permit.thenCompose(ignored -> {
+            final long start = System.nanoTime();
+            final CompletableFuture<TransportResponse> response;
+            try {
+                response = delegate.executeAsync(request, executor);
+            } catch (RuntimeException ex) {
+                currentLimiter.release();
+                throw ex;
+            }
+            return response
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                            if (cause instanceof IOException) {
+                                onError(currentLimiter, request, start);
+                            } else {
+                                currentLimiter.release();
+                            }
+                        }
+                    })
+                    .thenApply(result -> onResponse(currentLimiter, result, start));
+        });
+    }
+
+    private static void onError(AdaptiveConcurrencyLimiter limiter, TransportRequest request, long start) {
+        // cancelled request says nothing about the service capacity
+        if (!request.isAborted() || request.isExpired()) {
+            limiter.onSample(elapsed(start), true);
+        }
+        limiter.release();
+    }
+
+    private static TransportResponse onResponse(AdaptiveConcurrencyLimiter limiter, TransportResponse response, long start) {
+        limiter.onSample(elapsed(start), response.getStatusCode() == 429);
+        return new TransportResponse(response.getStatusCode(), response.getHeaders(), new ReleasingInputStream(response.getBody(), limiter::release));
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
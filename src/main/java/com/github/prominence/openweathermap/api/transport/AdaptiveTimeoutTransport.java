@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.AdaptiveTimeoutSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport decorator that replaces the read timeout of every request with the one learned from the latency of its endpoint
+ * according to the {@link AdaptiveTimeoutSettings}, so slow endpoints, e.g. <code>onecall</code>, aren't cut off while requests
+ * to the fast ones, e.g. <code>weather</code>, don't hang for long. Requests that time out are counted with their waiting time,
+ * so the timeout grows when the endpoint becomes slower.
+ */
+public class AdaptiveTimeoutTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private final Map<String, LatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+    private volatile AdaptiveTimeoutSettings settings;
+
+    /**
+     * Instantiates a new decorator that keeps configured timeouts until {@link #setSettings(AdaptiveTimeoutSettings)} is called.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public AdaptiveTimeoutTransport(HttpTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Applies new settings, collected latencies are kept.
+     *
+     * @param settings adaptive timeout settings or null to use configured timeouts.
+     */
+    public void setSettings(AdaptiveTimeoutSettings settings) {
+        this.settings = settings != null ? new AdaptiveTimeoutSettings(settings) : null;
+    }
+
+    /**
+     * @param endpoint endpoint, e.g. <code>weather</code>.
+     * @return read timeout in milliseconds currently used for the endpoint or null if it isn't adapted yet.
+     */
+    public Integer getTimeout(String endpoint) {
+        final AdaptiveTimeoutSettings currentSettings = settings;
+        final LatencyHistogram latencyHistogram = latencyHistograms.get(endpoint);
+        return currentSettings != null && latencyHistogram != null ? adaptTimeout(currentSettings, latencyHistogram) : null;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final AdaptiveTimeoutSettings currentSettings = settings;
+        if (currentSettings == null || request.getEndpoint() == null) {
+            return delegate.execute(request);
+        }
+
+        final LatencyHistogram latencyHistogram = latencyHistograms.computeIfAbsent(request.getEndpoint(), endpoint -> new LatencyHistogram());
+        final TransportRequest adaptedRequest = adaptRequest(currentSettings, latencyHistogram, request);
+        final long start = System.nanoTime();
+        final TransportResponse response;
+        try {
+            response = delegate.execute(adaptedRequest);
+        } catch (IOException ex) {
+            onError(latencyHistogram, adaptedRequest, start);
+            throw ex;
+        }
+        latencyHistogram.record(elapsed(start));
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final AdaptiveTimeoutSettings currentSettings = settings;
+        if (currentSettings == null || request.getEndpoint() == null) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        final LatencyHistogram latencyHistogram = latencyHistograms.computeIfAbsent(request.getEndpoint(), endpoint -> new LatencyHistogram());
+        final TransportRequest adaptedRequest = adaptRequest(currentSettings, latencyHistogram, request);
+        final long start = System.nanoTime();
+        return delegate.executeAsync(adaptedRequest, executor).whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                latencyHistogram.record(elapsed(start));
+            } else if ((throwable instanceof CompletionException ? throwable.getCause() : throwable) instanceof IOException) {
+                onError(latencyHistogram, adaptedRequest, start);
+            }
+        });
+    }
+
+    private static TransportRequest adaptRequest(AdaptiveTimeoutSettings settings, LatencyHistogram latencyHistogram, TransportRequest request) {
+        final Integer timeout = adaptTimeout(settings, latencyHistogram);
+        if (timeout == null) {
+            return request;
+        }
+        final TimeoutSettings timeoutSettings = request.getTimeoutSettings() != null ? new TimeoutSettings(request.getTimeoutSettings()) : new TimeoutSettings();
+        timeoutSettings.setReadTimeout(timeout);
+        final TransportRequest adaptedRequest = new TransportRequest(request, timeoutSettings);
+        request.onAbort(adaptedRequest::abort);
+        return adaptedRequest;
+    }
+
+    private static Integer adaptTimeout(AdaptiveTimeoutSettings settings, LatencyHistogram latencyHistogram) {
+        if (latencyHistogram.getCount() < settings.getMinSamples()) {
+            return null;
+        }
+        final long timeout = latencyHistogram.getPercentile(settings.getPercentile()) + settings.getMargin();
+        return (int) Math.max(settings.getFloor(), Math.min(settings.getCeiling(), timeout));
+    }
+
+    private static void onError(LatencyHistogram latencyHistogram, TransportRequest request, long start) {
+        final long elapsed = elapsed(start);
+        final Integer readTimeout = request.getTimeoutSettings() != null ? request.getTimeoutSettings().getReadTimeout() : null;
+        // the request most likely timed out, so the endpoint is at least that slow; quick failures say nothing about latency
+        if (!request.isAborted() && readTimeout != null && readTimeout > 0 && elapsed >= readTimeout) {
+            latencyHistogram.record(elapsed);
+        }
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.BulkheadSettings;
+import com.github.prominence.openweathermap.api.exception.BulkheadFullException;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Limits number of simultaneously executed requests. Requests over the limit wait in a bounded FIFO queue:
+ * blocking ones up to {@link BulkheadSettings#getMaxWaitTime()}, asynchronous ones without blocking any thread.
+ * When the queue is full requests are rejected with {@link BulkheadFullException}.
+ */
+public class Bulkhead extends PermitQueue {
+    private final String name;
+    private final int maxConcurrentCalls;
+
+    /**
+     * Instantiates a new bulkhead.
+     *
+     * @param name name used in error messages.
+     * @param settings bulkhead limits.
+     */
+    public Bulkhead(String name, BulkheadSettings settings) {
+        super(settings.getMaxWaitingCalls(), settings.getMaxWaitTime());
+        if (settings.getMaxConcurrentCalls() <= 0) {
+            throw new IllegalArgumentException("Max concurrent calls must be positive.");
+        }
+        this.name = name;
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getActiveCalls() {
+        return usedPermits();
+    }
+
+    public int getWaitingCalls() {
+        return queueDepth();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls();
+    }
+
+    /**
+     * @return true if all slots are taken and new requests have to wait or are rejected.
+     */
+    public boolean isSaturated() {
+        return usedPermits() >= maxConcurrentCalls;
+    }
+
+    /**
+     * Takes a slot waiting for it not longer than {@link BulkheadSettings#getMaxWaitTime()}.
+     *
+     * @throws BulkheadFullException if there was no free slot in time.
+     * @throws InterruptedIOException if the thread was interrupted while waiting.
+     */
+    void acquire() throws InterruptedIOException {
+        acquire(Long.MAX_VALUE);
+    }
+
+    @Override
+    int permits() {
+        return maxConcurrentCalls;
+    }
+
+    @Override
+    BulkheadFullException rejection() {
+        return new BulkheadFullException("Bulkhead " + name + " is full, " + maxConcurrentCalls + " requests are being executed.");
+    }
+
+    @Override
+    String description() {
+        return "bulkhead " + name;
+    }
+}
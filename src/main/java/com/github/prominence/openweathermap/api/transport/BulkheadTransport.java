@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.enums.EndpointGroup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Transport decorator that isolates endpoint groups from each other with bulkheads, so slow requests
+ * to one endpoint (e.g. <code>onecall/timemachine</code> bursts) cannot occupy all resources of the others.
+ * The slot is held until the response body is closed.
+ */
+public class BulkheadTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private final Map<EndpointGroup, Bulkhead> bulkheads;
+
+    /**
+     * Instantiates a new decorator.
+     *
+     * @param delegate transport to execute requests with.
+     * @param bulkheads bulkheads by endpoint group. The map is read on every request, so it may be changed later.
+     *                  Requests to the groups without bulkhead are not limited.
+     */
+    public BulkheadTransport(HttpTransport delegate, Map<EndpointGroup, Bulkhead> bulkheads) {
+        this.delegate = delegate;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final Bulkhead bulkhead = bulkheads.get(EndpointGroup.of(request.getEndpoint()));
+        if (bulkhead == null) {
+            return delegate.execute(request);
+        }
+
+        bulkhead.acquire(request.getRemainingTime());
+        final TransportResponse response;
+        try {
+            response = delegate.execute(request);
+        } catch (IOException | RuntimeException ex) {
+            bulkhead.release();
+            throw ex;
+        }
+        return releaseOnClose(response, bulkhead);
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final Bulkhead bulkhead = bulkheads.get(EndpointGroup.of(request.getEndpoint()));
+        if (bulkhead == null) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        final CompletableFuture<Void> permit = bulkhead.acquireAsync();
+        request.onAbort(() -> bulkhead.cancel(permit));
+        return permit.thenCompose(ignored -> {
+            final CompletableFuture<TransportResponse> response;
+            try {
+                response = delegate.executeAsync(request, executor);
+            } catch (RuntimeException ex) {
+                bulkhead.release();
+                throw ex;
+            }
+            return response
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            bulkhead.release();
+                        }
+                    })
+                    .thenApply(result -> releaseOnClose(result, bulkhead));
+        });
+    }
+
+    private TransportResponse releaseOnClose(TransportResponse response, Bulkhead bulkhead) {
+        return new TransportResponse(response.getStatusCode(), response.getHeaders(), new ReleasingInputStream(response.getBody(), bulkhead::release));
+    }
+}
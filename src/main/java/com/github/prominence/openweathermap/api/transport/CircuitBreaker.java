@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-based circuit breaker. It opens when the failure rate among the latest calls reaches the threshold,
+ * rejects all calls while open and then lets a limited number of probing calls through. Successful probes close it,
+ * any failed probe opens it again.
+ */
+public class CircuitBreaker {
+    /**
+     * Circuit breaker state.
+     */
+    public enum State {
+        /**
+         * Calls are let through, failures are being counted.
+         */
+        CLOSED,
+
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+
+        /**
+         * Limited number of probing calls is let through.
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final CircuitBreakerSettings settings;
+    private final boolean[] window;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    private State state = State.CLOSED;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAt;
+    private int startedProbes;
+    private int succeededProbes;
+
+    /**
+     * Instantiates a new circuit breaker.
+     *
+     * @param name name used in error messages, e.g. endpoint.
+     * @param settings circuit breaker settings.
+     */
+    public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+        if (settings.getSlidingWindowSize() <= 0 || settings.getHalfOpenCalls() <= 0) {
+            throw new IllegalArgumentException("Sliding window size and half-open calls must be positive.");
+        }
+        this.name = name;
+        this.settings = new CircuitBreakerSettings(settings);
+        this.window = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return failure rate among the calls in the sliding window, from 0 to 1.
+     */
+    public synchronized double getFailureRate() {
+        return windowCalls == 0 ? 0 : (double) windowFailures / windowCalls;
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    /**
+     * Checks whether the call is permitted. Every permitted call has to be finished with one of the
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()} methods.
+     *
+     * @return true if the call can be executed.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < settings.getOpenDuration()) {
+                rejectedCalls.incrementAndGet();
+                return false;
+            }
+            state = State.HALF_OPEN;
+            startedProbes = 0;
+            succeededProbes = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (startedProbes >= settings.getHalfOpenCalls()) {
+                rejectedCalls.incrementAndGet();
+                return false;
+            }
+            startedProbes++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++succeededProbes >= settings.getHalfOpenCalls()) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= settings.getMinimumCalls() && getFailureRate() >= settings.getFailureRateThreshold()) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Finishes the call that says nothing about the endpoint health, e.g. cancelled one.
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && startedProbes > succeededProbes) {
+            startedProbes--;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void resetWindow() {
+        windowPosition = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport decorator that keeps a {@link CircuitBreaker} per endpoint, e.g. <code>weather</code> or <code>air_pollution/history</code>,
+ * so a degraded endpoint fails fast with {@link CircuitBreakerOpenException} instead of making every caller wait for timeouts.
+ * Network errors, including expired deadlines, and <code>5xx</code> responses are counted as failures. Other responses are counted
+ * once their body is closed, so read errors while the body is transferred, e.g. read timeouts of slow history downloads, are failures too.
+ */
+public class CircuitBreakerTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private volatile CircuitBreakerSettings settings;
+
+    /**
+     * Instantiates a new decorator that doesn't break circuits until {@link #setSettings(CircuitBreakerSettings)} is called.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public CircuitBreakerTransport(HttpTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Applies new settings, state of all circuit breakers is reset.
+     *
+     * @param settings circuit breaker settings or null to disable circuit breakers.
+     */
+    public void setSettings(CircuitBreakerSettings settings) {
+        this.settings = settings != null ? new CircuitBreakerSettings(settings) : null;
+        circuitBreakers.clear();
+    }
+
+    /**
+     * @param endpoint endpoint, e.g. <code>onecall/timemachine</code>.
+     * @return circuit breaker of the endpoint or null if no request was sent to it yet or circuit breakers are disabled.
+     */
+    public CircuitBreaker getCircuitBreaker(String endpoint) {
+        return circuitBreakers.get(endpoint);
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final CircuitBreaker circuitBreaker = acquire(request);
+        if (circuitBreaker == null) {
+            return delegate.execute(request);
+        }
+
+        final TransportResponse response;
+        try {
+            response = delegate.execute(request);
+        } catch (IOException ex) {
+            onError(circuitBreaker, request, ex);
+            throw ex;
+        } catch (RuntimeException ex) {
+            circuitBreaker.onIgnored();
+            throw ex;
+        }
+        return onResponse(circuitBreaker, request, response);
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final CircuitBreaker circuitBreaker;
+        try {
+            circuitBreaker = acquire(request);
+        } catch (CircuitBreakerOpenException ex) {
+            final CompletableFuture<TransportResponse> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(ex);
+            return rejected;
+        }
+        if (circuitBreaker == null) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        return delegate.executeAsync(request, executor)
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        onError(circuitBreaker, request, throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                    }
+                })
+                .thenApply(response -> onResponse(circuitBreaker, request, response));
+    }
+
+    private CircuitBreaker acquire(TransportRequest request) {
+        final CircuitBreakerSettings currentSettings = settings;
+        if (currentSettings == null || request.getEndpoint() == null) {
+            return null;
+        }
+        final CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(request.getEndpoint(), endpoint -> new CircuitBreaker(endpoint, currentSettings));
+        if (!circuitBreaker.tryAcquire()) {
+            throw new CircuitBreakerOpenException(request.getEndpoint());
+        }
+        return circuitBreaker;
+    }
+
+    private static TransportResponse onResponse(CircuitBreaker circuitBreaker, TransportRequest request, TransportResponse response) {
+        if (response.getStatusCode() >= 500) {
+            circuitBreaker.onFailure();
+            return response;
+        }
+        if (response.getBody() == null) {
+            circuitBreaker.onSuccess();
+            return response;
+        }
+        return new TransportResponse(response.getStatusCode(), response.getHeaders(), new RecordingInputStream(response.getBody(), circuitBreaker, request));
+    }
+
+    private static void onError(CircuitBreaker circuitBreaker, TransportRequest request, Throwable throwable) {
+        // cancelled request says nothing about the endpoint health, unlike the expired one
+        if (throwable instanceof IOException && !(request.isAborted() && !request.isExpired())) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onIgnored();
+        }
+    }
+
+    /**
+     * Response body that records the outcome of the request once: failure on the first read error, success on close.
+     */
+    private static class RecordingInputStream extends FilterInputStream {
+        private final CircuitBreaker circuitBreaker;
+        private final TransportRequest request;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        RecordingInputStream(InputStream in, CircuitBreaker circuitBreaker, TransportRequest request) {
+            super(in);
+            this.circuitBreaker = circuitBreaker;
+            this.request = request;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException ex) {
+                record(ex);
+                throw ex;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException ex) {
+                record(ex);
+                throw ex;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                return super.skip(n);
+            } catch (IOException ex) {
+                record(ex);
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                record(null);
+            }
+        }
+
+        private void record(IOException failure) {
+            if (recorded.compareAndSet(false, true)) {
+                if (failure != null) {
+                    onError(circuitBreaker, request, failure);
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.ConnectionPoolSettings;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bookkeeping of connections opened by {@link HttpURLConnectionTransport}.
+ * The connections themselves are kept alive by JDK, the pool optionally limits their amount per host,
+ * tracks whether request reused a connection and closes connections of hosts that were idle for too long.
+ */
+class ConnectionPool {
+    private final ConnectionPoolSettings settings;
+    private final ConnectionPoolStatistics statistics = new ConnectionPoolStatistics();
+    private final Map<String, HostPool> hostPools = new ConcurrentHashMap<>();
+
+    ConnectionPool(ConnectionPoolSettings settings) {
+        this.settings = new ConnectionPoolSettings(settings);
+    }
+
+    ConnectionPoolStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Leases a connection slot for the host, waiting if the number of connections is limited and all the slots are in use.
+     *
+     * @param host target host.
+     * @param timeout max time to wait in milliseconds, null to wait without limit.
+     * @return the lease that must be released after response is consumed.
+     * @throws IOException if there is no free slot within timeout or thread was interrupted.
+     */
+    Lease acquire(String host, Integer timeout) throws IOException {
+        final HostPool hostPool = hostPools.computeIfAbsent(host, key -> new HostPool(settings.getMaxConnectionsPerHost()));
+        try {
+            hostPool.evictIfIdle(System.currentTimeMillis());
+            if (hostPool.permits != null) {
+                if (timeout == null) {
+                    hostPool.permits.acquire();
+                } else if (!hostPool.permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("No free connection to " + host + " within " + timeout + "ms.");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(ex.getMessage());
+        }
+        hostPool.lease();
+        return new Lease(hostPool);
+    }
+
+    class Lease {
+        private final HostPool hostPool;
+        private volatile boolean connectionOpened;
+        private boolean released;
+
+        private Lease(HostPool hostPool) {
+            this.hostPool = hostPool;
+        }
+
+        void connectionOpened(Socket socket) {
+            connectionOpened = true;
+            hostPool.sockets.removeIf(Socket::isClosed);
+            hostPool.sockets.add(socket);
+        }
+
+        /**
+         * Records whether the request was served over already opened connection.
+         *
+         * @param tracked false if new connections of the request cannot be observed, e.g. for plain HTTP.
+         */
+        void recordUsage(boolean tracked) {
+            if (!tracked) {
+                statistics.recordUntracked();
+            } else if (connectionOpened) {
+                statistics.recordMiss();
+            } else {
+                statistics.recordHit();
+            }
+        }
+
+        synchronized boolean isReleased() {
+            return released;
+        }
+
+        synchronized void release() {
+            if (!released) {
+                released = true;
+                hostPool.lastReleased = System.currentTimeMillis();
+                hostPool.leased.decrementAndGet();
+                if (hostPool.permits != null) {
+                    hostPool.permits.release();
+                }
+            }
+        }
+    }
+
+    private class HostPool {
+        private final Semaphore permits;
+        /**
+         * Number of the leased slots, -1 while idle connections are being evicted.
+         */
+        private final AtomicInteger leased = new AtomicInteger();
+        private final Queue<Socket> sockets = new ConcurrentLinkedQueue<>();
+        private volatile long lastReleased = System.currentTimeMillis();
+
+        private HostPool(int maxConnections) {
+            this.permits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        }
+
+        private void lease() {
+            while (true) {
+                final int current = leased.get();
+                if (current < 0) {
+                    // eviction only closes sockets, so it is over shortly
+                    Thread.yield();
+                } else if (leased.compareAndSet(current, current + 1)) {
+                    return;
+                }
+            }
+        }
+
+        private void evictIfIdle(long now) {
+            if (sockets.isEmpty() || now - lastReleased < settings.getIdleTimeout()) {
+                return;
+            }
+            // no leased slots guarantee that none of the connections is in use
+            if (leased.compareAndSet(0, -1)) {
+                try {
+                    long evicted = 0;
+                    Socket socket;
+                    while ((socket = sockets.poll()) != null) {
+                        if (!socket.isClosed()) {
+                            closeQuietly(socket);
+                            evicted++;
+                        }
+                    }
+                    statistics.recordEvictions(evicted);
+                } finally {
+                    leased.set(0);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // nothing to do with already broken connection
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the connection pool usage.
+ * A hit means that request was executed over already opened connection, a miss means that a new connection was established.
+ * JDK doesn't expose connections of plain HTTP requests, so they are counted as untracked ones.
+ */
+public class ConnectionPoolStatistics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong untracked = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns amount of plain HTTP requests, it is unknown whether they reused a connection.
+     *
+     * @return untracked requests count.
+     */
+    public long getUntracked() {
+        return untracked.get();
+    }
+
+    /**
+     * Returns amount of idle connections that were closed because of idle timeout.
+     *
+     * @return evicted connections count.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordUntracked() {
+        untracked.incrementAndGet();
+    }
+
+    void recordEvictions(long count) {
+        evictions.addAndGet(count);
+    }
+
+    @Override
+    public String toString() {
+        return "Connection pool: hits=" + hits + ", misses=" + misses + ", untracked=" + untracked + ", evictions=" + evictions;
+    }
+}
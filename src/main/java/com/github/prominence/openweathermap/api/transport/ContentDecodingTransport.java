@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.exception.UnsupportedContentEncodingException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Transport decorator that negotiates gzip/deflate compression and inflates response body on the fly,
+ * so the body is never materialized in its compressed form. Response in any other encoding fails
+ * with {@link UnsupportedContentEncodingException}.
+ */
+public class ContentDecodingTransport implements HttpTransport {
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    private final HttpTransport delegate;
+    private final TransferStatistics statistics = new TransferStatistics();
+
+    /**
+     * Instantiates a new decorator.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public ContentDecodingTransport(HttpTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    public TransferStatistics getTransferStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        negotiate(request);
+        return decode(delegate.execute(request));
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        negotiate(request);
+        return delegate.executeAsync(request, executor).thenApply(response -> {
+            try {
+                return decode(response);
+            } catch (IOException ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+
+    private void negotiate(TransportRequest request) {
+        if (!request.getHeaders().containsKey(ACCEPT_ENCODING_HEADER)) {
+            request.putHeader(ACCEPT_ENCODING_HEADER, "gzip, deflate");
+        }
+    }
+
+    private TransportResponse decode(TransportResponse response) throws IOException {
+        final String contentEncoding = response.getHeader(CONTENT_ENCODING_HEADER);
+        final boolean compressed = contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding.trim());
+        statistics.recordResponse(compressed);
+
+        final InputStream transferred = new CountingInputStream(response.getBody(), statistics.transferredBytesCounter());
+        if (!compressed) {
+            return new TransportResponse(response.getStatusCode(), response.getHeaders(), transferred);
+        }
+
+        try {
+            // closing of the decoded stream closes the original response body as well
+            final InputStream decoded = new CountingInputStream(decode(transferred, contentEncoding.trim()), statistics.decodedBytesCounter());
+            return new TransportResponse(response.getStatusCode(), response.getHeaders(), decoded);
+        } catch (IOException | RuntimeException ex) {
+            response.close();
+            throw ex;
+        }
+    }
+
+    private InputStream decode(InputStream inputStream, String contentEncoding) throws IOException {
+        final BufferedInputStream bufferedStream = new BufferedInputStream(inputStream);
+        bufferedStream.mark(2);
+        final int first = bufferedStream.read();
+        final int second = bufferedStream.read();
+        bufferedStream.reset();
+        if (first == -1) {
+            // there is nothing to decode, e.g. body of an error response
+            return bufferedStream;
+        }
+
+        if ("gzip".equalsIgnoreCase(contentEncoding) || "x-gzip".equalsIgnoreCase(contentEncoding)) {
+            return new GZIPInputStream(bufferedStream);
+        }
+        if ("deflate".equalsIgnoreCase(contentEncoding)) {
+            // "deflate" has to be zlib-wrapped, but some servers send raw deflate data
+            final boolean zlibWrapped = (first & 0x0F) == 8 && second != -1 && ((first << 8) | second) % 31 == 0;
+            return new InflatingInputStream(bufferedStream, new Inflater(!zlibWrapped));
+        }
+        throw new UnsupportedContentEncodingException("Unsupported content encoding: " + contentEncoding);
+    }
+
+    /**
+     * Releases the inflater on close, as {@link InflaterInputStream} does it only for its own default inflater.
+     */
+    private static class InflatingInputStream extends InflaterInputStream {
+        private InflatingInputStream(InputStream in, Inflater inflater) {
+            super(in, inflater);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the hedged requests.
+ */
+public class HedgingStatistics {
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong budgetRejections = new AtomicLong();
+
+    /**
+     * @return number of duplicate requests sent.
+     */
+    public long getHedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    /**
+     * @return number of duplicate requests that responded earlier than the original ones.
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * @return number of duplicate requests that weren't sent because the budget was exhausted.
+     */
+    public long getBudgetRejections() {
+        return budgetRejections.get();
+    }
+
+    void recordHedge() {
+        hedgedRequests.incrementAndGet();
+    }
+
+    void recordWin() {
+        hedgeWins.incrementAndGet();
+    }
+
+    void recordBudgetRejection() {
+        budgetRejections.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "Hedging: hedgedRequests=" + hedgedRequests + ", hedgeWins=" + hedgeWins + ", budgetRejections=" + budgetRejections;
+    }
+}
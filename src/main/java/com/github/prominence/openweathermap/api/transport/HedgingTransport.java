@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.utils.SharedScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport decorator that hedges slow requests according to the {@link HedgingSettings}: when there is no response within
+ * the latency percentile of the endpoint, a duplicate request is sent and the first response wins, the other request is aborted.
+ * Every request adds a budget share of a token and every duplicate takes a whole one, so duplicates never exceed the budget.
+ * Synchronous requests are hedged too, their attempts are executed in the executor set by {@link #setExecutor(Executor)}
+ * or, by default, in a pool of daemon threads shared by the instances, so blocking attempts don't occupy common pool.
+ */
+public class HedgingTransport implements HttpTransport {
+    private static final Logger logger = LoggerFactory.getLogger(HedgingTransport.class);
+    private static final double MAX_BUDGET_TOKENS = 10;
+    private static final int DEFAULT_EXECUTOR_THREADS = 16;
+    private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+    private final HttpTransport delegate;
+    private final Map<String, LatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+    private final HedgingStatistics statistics = new HedgingStatistics();
+    private volatile HedgingSettings settings;
+    private volatile Executor executor = DEFAULT_EXECUTOR;
+    private double budgetTokens;
+
+    /**
+     * Instantiates a new decorator that doesn't hedge requests until {@link #setSettings(HedgingSettings)} is called.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public HedgingTransport(HttpTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Applies new settings, collected latencies are kept.
+     *
+     * @param settings hedging settings or null to disable hedging.
+     */
+    public void setSettings(HedgingSettings settings) {
+        this.settings = settings != null ? new HedgingSettings(settings) : null;
+    }
+
+    /**
+     * Sets executor for attempts of synchronous requests. By default a pool of 16 daemon threads is used.
+     *
+     * @param executor executor for synchronous attempts.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    private static Executor createDefaultExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_EXECUTOR_THREADS, DEFAULT_EXECUTOR_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "openweathermap-hedging-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // threads are started on demand and stop while there are no synchronous hedged requests
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public HedgingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @param endpoint endpoint, e.g. <code>weather</code>.
+     * @return latency histogram of the endpoint or null if no request was sent to it while hedging was enabled.
+     */
+    public LatencyHistogram getLatencyHistogram(String endpoint) {
+        return latencyHistograms.get(endpoint);
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        if (settings == null) {
+            return delegate.execute(request);
+        }
+
+        final CompletableFuture<TransportResponse> response = executeAsync(request, executor);
+        try {
+            return response.get();
+        } catch (InterruptedException ex) {
+            request.abort();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response.");
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final HedgingSettings currentSettings = settings;
+        if (currentSettings == null) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        final LatencyHistogram latencyHistogram = latencyHistograms.computeIfAbsent(request.getEndpoint() != null ? request.getEndpoint() : "",
+                endpoint -> new LatencyHistogram());
+        addBudget(currentSettings);
+        final HedgedCall call = new HedgedCall(request, executor, latencyHistogram);
+        request.onAbort(call::abort);
+        call.attempt(false);
+
+        final long hedgeDelay = hedgeDelay(currentSettings, latencyHistogram, request);
+        if (hedgeDelay >= 0) {
+            final ScheduledFuture<?> hedgeTimer = SharedScheduler.schedule(() -> {
+                if (call.result.isDone()) {
+                    return;
+                }
+                if (!tryTakeBudget()) {
+                    statistics.recordBudgetRejection();
+                    return;
+                }
+                logger.debug("Hedging {} request after {} ms.", request.getEndpoint(), hedgeDelay);
+                statistics.recordHedge();
+                call.attempt(true);
+            }, hedgeDelay, executor);
+            call.result.whenComplete((response, throwable) -> hedgeTimer.cancel(false));
+        }
+        return call.result;
+    }
+
+    /**
+     * @return delay in milliseconds or -1 if the request must not be hedged.
+     */
+    private static long hedgeDelay(HedgingSettings settings, LatencyHistogram latencyHistogram, TransportRequest request) {
+        if (latencyHistogram.getCount() < settings.getMinSamples()) {
+            return -1;
+        }
+        final long delay = Math.max(settings.getMinDelay(), latencyHistogram.getPercentile(settings.getPercentile()));
+        // duplicate that starts at the deadline has no chance to win
+        return delay < request.getRemainingTime() ? delay : -1;
+    }
+
+    private synchronized void addBudget(HedgingSettings settings) {
+        budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + settings.getBudget());
+    }
+
+    private synchronized boolean tryTakeBudget() {
+        if (budgetTokens < 1) {
+            return false;
+        }
+        budgetTokens -= 1;
+        return true;
+    }
+
+    /**
+     * Attempts of the single request. Each of them is an independent copy of the request, so the losing one is aborted without
+     * affecting the winner.
+     */
+    private class HedgedCall {
+        private final TransportRequest request;
+        private final Executor executor;
+        private final LatencyHistogram latencyHistogram;
+        private final CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        private final List<TransportRequest> attempts = new ArrayList<>(2);
+        private int pendingAttempts;
+
+        HedgedCall(TransportRequest request, Executor executor, LatencyHistogram latencyHistogram) {
+            this.request = request;
+            this.executor = executor;
+            this.latencyHistogram = latencyHistogram;
+        }
+
+        void attempt(boolean hedged) {
+            final TransportRequest attemptRequest = new TransportRequest(request);
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                attempts.add(attemptRequest);
+                pendingAttempts++;
+            }
+            if (hedged) {
+                request.resent();
+            }
+
+            final long start = System.nanoTime();
+            CompletableFuture<TransportResponse> response;
+            try {
+                response = delegate.executeAsync(attemptRequest, executor);
+            } catch (RuntimeException ex) {
+                response = new CompletableFuture<>();
+                response.completeExceptionally(ex);
+            }
+            response.whenComplete((transportResponse, throwable) -> {
+                if (transportResponse != null) {
+                    latencyHistogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    if (!result.complete(transportResponse)) {
+                        closeQuietly(transportResponse);
+                        return;
+                    }
+                    if (hedged) {
+                        statistics.recordWin();
+                    }
+                    abortOthers(attemptRequest);
+                    return;
+                }
+
+                final boolean lastAttempt;
+                synchronized (this) {
+                    lastAttempt = --pendingAttempts == 0;
+                }
+                // the other attempt might still succeed
+                if (lastAttempt) {
+                    result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                }
+            });
+        }
+
+        void abort() {
+            abortOthers(null);
+            result.completeExceptionally(new InterruptedIOException("Request was aborted: " + request.getUrl()));
+        }
+
+        private void abortOthers(TransportRequest winner) {
+            final List<TransportRequest> losers;
+            synchronized (this) {
+                losers = new ArrayList<>(attempts);
+            }
+            losers.stream()
+                    .filter(attemptRequest -> attemptRequest != winner)
+                    .forEach(TransportRequest::abort);
+        }
+    }
+
+    private static void closeQuietly(TransportResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            // the response is discarded anyway
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Transport abstraction used to execute HTTP calls to OpenWeatherMap services.
+ * Implementations are shared between all requests of the {@link com.github.prominence.openweathermap.api.OpenWeatherMapClient}
+ * they were passed to, so they must be thread-safe.
+ */
+public interface HttpTransport {
+    /**
+     * Executes GET request and returns raw response. Response status handling is done by the caller.
+     *
+     * @param request request to execute.
+     * @return the response. Caller is responsible for closing it.
+     * @throws IOException in case of any network problems.
+     */
+    TransportResponse execute(TransportRequest request) throws IOException;
+
+    /**
+     * Executes GET request asynchronously in the common pool, see {@link #executeAsync(TransportRequest, Executor)}.
+     *
+     * @param request request to execute.
+     * @return future of the response. Caller is responsible for closing it.
+     */
+    default CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        return executeAsync(request, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executes GET request asynchronously. Default implementation runs blocking {@link #execute(TransportRequest)}
+     * in the provided executor, transports backed by non-blocking I/O should override it.
+     * Implementations should stop execution on {@link TransportRequest#abort()}.
+     *
+     * @param request request to execute.
+     * @param executor executor to run blocking work in.
+     * @return future of the response. Caller is responsible for closing it.
+     */
+    default CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                if (request.isAborted()) {
+                    throw new InterruptedIOException("Request was aborted: " + request.getUrl());
+                }
+                return execute(request);
+            } catch (IOException ex) {
+                throw new CompletionException(ex);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+/**
+ * Factory of the {@link HttpTransport} implementations.
+ */
+public final class HttpTransports {
+
+    private HttpTransports() {
+    }
+
+    /**
+     * Creates the default transport. It is {@link HttpURLConnectionTransport} on every Java runtime,
+     * so its connection pool settings and statistics are available regardless of the runtime.
+     *
+     * @return new transport instance.
+     */
+    public static HttpTransport defaultTransport() {
+        return new HttpURLConnectionTransport();
+    }
+
+    /**
+     * Creates HTTP/2 capable transport if the runtime supports it. On Java 11 and higher it is <code>HttpClientTransport</code>
+     * based on <code>java.net.http.HttpClient</code>, which multiplexes concurrent requests over a single connection,
+     * but has no connection pool settings and statistics. On Java 8 it is the default transport.
+     *
+     * @return new transport instance.
+     */
+    public static HttpTransport http2Transport() {
+        return defaultTransport();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.ConnectionPoolSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+
+/**
+ * Default {@link HttpTransport} implementation based on {@link HttpURLConnection}.
+ * Connections are kept alive between requests and managed according to the {@link ConnectionPoolSettings}.
+ */
+public class HttpURLConnectionTransport implements HttpTransport {
+    /**
+     * Max amount of unread response bytes that will be skipped to return connection back to the pool.
+     */
+    private static final int MAX_DRAIN_SIZE = 64 * 1024;
+
+    private final ConnectionPool connectionPool;
+    private final TrackingSSLSocketFactory sslSocketFactory;
+
+    public HttpURLConnectionTransport() {
+        this(new ConnectionPoolSettings());
+    }
+
+    /**
+     * Instantiates a new transport.
+     *
+     * @param connectionPoolSettings connection pool settings.
+     */
+    public HttpURLConnectionTransport(ConnectionPoolSettings connectionPoolSettings) {
+        this.connectionPool = new ConnectionPool(connectionPoolSettings);
+        this.sslSocketFactory = new TrackingSSLSocketFactory(createSSLContext(connectionPoolSettings).getSocketFactory());
+    }
+
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return connectionPool.getStatistics();
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final URL url = new URL(request.getUrl());
+        final TimeoutSettings timeoutSettings = request.getTimeoutSettings() != null ? request.getTimeoutSettings() : new TimeoutSettings(null, null);
+        if (request.isExpired()) {
+            throw new SocketTimeoutException("Request deadline exceeded: " + request.getUrl());
+        }
+        final Integer connectionTimeout = request.capTimeout(timeoutSettings.getConnectionTimeout());
+        final Integer readTimeout = request.capTimeout(timeoutSettings.getReadTimeout());
+        final ConnectionPool.Lease lease = connectionPool.acquire(url.getHost() + ':' + url.getPort(), connectionTimeout);
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) url.openConnection();
+            final HttpURLConnection abortableConnection = connection;
+            request.onAbort(() -> {
+                if (!lease.isReleased()) {
+                    abortableConnection.disconnect();
+                }
+            });
+            if (request.isAborted()) {
+                throw new InterruptedIOException("Request was aborted: " + request.getUrl());
+            }
+            if (connection instanceof HttpsURLConnection) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+            }
+
+            if (connectionTimeout != null) {
+                connection.setConnectTimeout(connectionTimeout);
+            }
+
+            if (readTimeout != null) {
+                connection.setReadTimeout(readTimeout);
+            }
+
+            connection.setRequestMethod("GET");
+            request.getHeaders().forEach(connection::setRequestProperty);
+
+            final int statusCode;
+            TrackingSSLSocketFactory.bind(lease);
+            try {
+                statusCode = connection.getResponseCode();
+            } finally {
+                TrackingSSLSocketFactory.unbind();
+            }
+            lease.recordUsage(connection instanceof HttpsURLConnection);
+
+            final InputStream body = statusCode < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+            if (body == null) {
+                lease.release();
+            }
+            return new TransportResponse(statusCode, connection.getHeaderFields(), body != null ? new PooledInputStream(body, connection, lease) : null);
+        } catch (IOException | RuntimeException ex) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            lease.release();
+            throw ex;
+        }
+    }
+
+    private static SSLContext createSSLContext(ConnectionPoolSettings connectionPoolSettings) {
+        try {
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            final SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            sessionContext.setSessionCacheSize(connectionPoolSettings.getTlsSessionCacheSize());
+            sessionContext.setSessionTimeout(connectionPoolSettings.getTlsSessionTimeout());
+            return sslContext;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot initialize TLS context.", ex);
+        }
+    }
+
+    /**
+     * Response stream that drains the rest of the body on close, so JDK can reuse the connection, and releases the lease.
+     */
+    private static class PooledInputStream extends FilterInputStream {
+        private final HttpURLConnection connection;
+        private final ConnectionPool.Lease lease;
+        private boolean closed;
+
+        private PooledInputStream(InputStream in, HttpURLConnection connection, ConnectionPool.Lease lease) {
+            super(in);
+            this.connection = connection;
+            this.lease = lease;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                drain();
+                super.close();
+            } catch (IOException ex) {
+                connection.disconnect();
+                throw ex;
+            } finally {
+                lease.release();
+            }
+        }
+
+        private void drain() throws IOException {
+            final byte[] buffer = new byte[4096];
+            int drained = 0;
+            int read;
+            while (drained < MAX_DRAIN_SIZE && (read = in.read(buffer)) != -1) {
+                drained += read;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency histogram with exponentially growing buckets from 1 ms to 2 minutes, so percentiles are precise within 25%.
+ * Older samples are gradually forgotten: when the histogram holds twice as many samples as the window, all counts are halved.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS;
+
+    static {
+        final List<Long> bounds = new ArrayList<>();
+        for (long bound = 1; bound < 120000; bound = Math.max(bound + 1, (long) (bound * 1.25))) {
+            bounds.add(bound);
+        }
+        bounds.add(120000L);
+        BUCKET_BOUNDS = bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private final long[] counts = new long[BUCKET_BOUNDS.length];
+    private final int window;
+    private long count;
+
+    public LatencyHistogram() {
+        this(1000);
+    }
+
+    /**
+     * Instantiates a new histogram.
+     *
+     * @param window approximate number of the recent samples percentiles are based on.
+     */
+    public LatencyHistogram(int window) {
+        this.window = window;
+    }
+
+    /**
+     * Adds the sample.
+     *
+     * @param latency latency in milliseconds. Latencies longer than 2 minutes are counted as 2 minutes.
+     */
+    public synchronized void record(long latency) {
+        final int index = Arrays.binarySearch(BUCKET_BOUNDS, latency);
+        counts[index >= 0 ? index : Math.min(-index - 1, counts.length - 1)]++;
+        if (++count >= 2L * window) {
+            count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] /= 2;
+                count += counts[i];
+            }
+        }
+    }
+
+    /**
+     * @return number of samples the percentiles are based on.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @param percentile percentile from 0 to 1, e.g. 0.99.
+     * @return upper bound of the bucket the percentile falls into in milliseconds or 0 if there are no samples.
+     */
+    public synchronized long getPercentile(double percentile) {
+        final long target = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return BUCKET_BOUNDS[i];
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Latency: count=" + count + ", p50=" + getPercentile(0.5) + ", p99=" + getPercentile(0.99);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.transport;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Permits of the simultaneously executed requests with a bounded FIFO queue of the requests waiting for them:
+ * blocking ones wait up to the max wait time, asynchronous ones without blocking any thread.
+ * Subclasses define the number of permits and the rejection, they must hold the lock of the queue while changing the number.
+ */
+abstract class PermitQueue {
+    private final Deque<CompletableFuture<Void>> waitingCalls = new ArrayDeque<>();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final int maxWaitingCalls;
+    private final long maxWaitTime;
+    private int usedPermits;
+
+    PermitQueue(int maxWaitingCalls, long maxWaitTime) {
+        this.maxWaitingCalls = Math.max(0, maxWaitingCalls);
+        this.maxWaitTime = Math.max(0, maxWaitTime);
+    }
+
+    /**
+     * Called holding the lock of the queue.
+     *
+     * @return current number of permits.
+     */
+    abstract int permits();
+
+    /**
+     * @return exception the rejected requests fail with.
+     */
+    abstract RuntimeException rejection();
+
+    /**
+     * @return name of the queue in the error messages, e.g. <code>bulkhead WEATHER</code>.
+     */
+    abstract String description();
+
+    synchronized int usedPermits() {
+        return usedPermits;
+    }
+
+    synchronized int queueDepth() {
+        return waitingCalls.size();
+    }
+
+    long rejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    /**
+     * Takes a permit without blocking.
+     *
+     * @return future that is completed once the permit is taken or failed with {@link #rejection()} if the queue is full.
+     */
+    CompletableFuture<Void> acquireAsync() {
+        synchronized (this) {
+            if (usedPermits < permits()) {
+                usedPermits++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waitingCalls.size() < maxWaitingCalls) {
+                final CompletableFuture<Void> permit = new CompletableFuture<>();
+                waitingCalls.add(permit);
+                return permit;
+            }
+        }
+        final CompletableFuture<Void> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(reject());
+        return rejected;
+    }
+
+    /**
+     * Takes a permit waiting for it not longer than the max wait time and provided time limit.
+     *
+     * @param timeLimit additional time limit in milliseconds, e.g. time left till the request deadline.
+     * @throws InterruptedIOException if the thread was interrupted while waiting.
+     */
+    void acquire(long timeLimit) throws InterruptedIOException {
+        final CompletableFuture<Void> permit = acquireAsync();
+        try {
+            permit.get(Math.min(maxWaitTime, timeLimit), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw (RuntimeException) ex.getCause();
+        } catch (TimeoutException ex) {
+            if (abandon(permit)) {
+                throw reject();
+            }
+            // permit was handed over right after the timeout
+        } catch (InterruptedException ex) {
+            if (!abandon(permit)) {
+                release();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the " + description() + ".");
+        }
+    }
+
+    /**
+     * Frees the permit handing it over to the waiting requests while there are free permits.
+     */
+    void release() {
+        synchronized (this) {
+            usedPermits--;
+        }
+        grantWaiting();
+    }
+
+    /**
+     * Removes asynchronous request from the queue, e.g. when it was aborted. Taken permit isn't affected.
+     *
+     * @param permit future returned by {@link #acquireAsync()}.
+     */
+    void cancel(CompletableFuture<Void> permit) {
+        if (abandon(permit)) {
+            permit.cancel(false);
+        }
+    }
+
+    /**
+     * Hands free permits over to the waiting requests, e.g. after the number of permits was increased.
+     */
+    void grantWaiting() {
+        final List<CompletableFuture<Void>> granted = new ArrayList<>(1);
+        synchronized (this) {
+            while (usedPermits < permits() && !waitingCalls.isEmpty()) {
+                granted.add(waitingCalls.poll());
+                usedPermits++;
+            }
+        }
+        granted.forEach(permit -> permit.complete(null));
+    }
+
+    private synchronized boolean abandon(CompletableFuture<Void> permit) {
+        return waitingCalls.remove(permit);
+    }
+
+    private RuntimeException reject() {
+        rejectedCalls.incrementAndGet();
+        return rejection();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.RateLimitSettings;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiter with per-minute and per-day buckets. Buckets are refilled continuously, so bursts up to
+ * the per-minute limit are allowed and the rest of calls are smoothed. Permits are reserved in advance:
+ * caller gets the time it has to wait before the call, while the next caller already queues behind it.
+ */
+public class RateLimiter {
+    private final RateLimitSettings settings;
+    private final TokenBucket minuteBucket;
+    private final TokenBucket dayBucket;
+    private final AtomicLong delayedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    /**
+     * Instantiates a new rate limiter with full buckets.
+     *
+     * @param settings rate limit settings.
+     */
+    public RateLimiter(RateLimitSettings settings) {
+        if (settings.getCallsPerMinute() <= 0 || settings.getCallsPerDay() <= 0) {
+            throw new IllegalArgumentException("Rate limits must be positive.");
+        }
+        this.settings = new RateLimitSettings(settings);
+        this.minuteBucket = new TokenBucket(settings.getCallsPerMinute(), TimeUnit.MINUTES.toMillis(1));
+        this.dayBucket = new TokenBucket(settings.getCallsPerDay(), TimeUnit.DAYS.toMillis(1));
+    }
+
+    public RateLimitSettings getSettings() {
+        return new RateLimitSettings(settings);
+    }
+
+    /**
+     * @return number of calls that can be made right now without exceeding per-minute limit.
+     */
+    public synchronized long getAvailableMinutePermits() {
+        final long now = System.currentTimeMillis();
+        return (long) Math.max(0, minuteBucket.refill(now));
+    }
+
+    /**
+     * @return number of calls that can be made right now without exceeding per-day limit.
+     */
+    public synchronized long getAvailableDayPermits() {
+        final long now = System.currentTimeMillis();
+        return (long) Math.max(0, dayBucket.refill(now));
+    }
+
+    public long getDelayedCalls() {
+        return delayedCalls.get();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    /**
+     * Takes a permit only if it is available right now.
+     *
+     * @return true if the permit was taken.
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Takes a permit even if the limit is reached, e.g. for a call that was already made. Following calls wait longer then.
+     */
+    public synchronized void forceAcquire() {
+        final long now = System.currentTimeMillis();
+        minuteBucket.refill(now);
+        dayBucket.refill(now);
+        minuteBucket.take();
+        dayBucket.take();
+    }
+
+    /**
+     * Reserves a permit.
+     *
+     * @param timeLimit additional limit of the wait time in milliseconds, e.g. time left till the request deadline.
+     * @return time in milliseconds to wait before the call or -1 if the permit can't be obtained in non-blocking mode or in time.
+     */
+    synchronized long reserve(long timeLimit) {
+        final long now = System.currentTimeMillis();
+        final long waitTime = Math.max(minuteBucket.waitTime(now), dayBucket.waitTime(now));
+        final long maxWaitTime = settings.isBlocking() ? Math.min(settings.getMaxWaitTime(), timeLimit) : 0;
+        if (waitTime > maxWaitTime) {
+            rejectedCalls.incrementAndGet();
+            return -1;
+        }
+        minuteBucket.take();
+        dayBucket.take();
+        if (waitTime > 0) {
+            delayedCalls.incrementAndGet();
+        }
+        return waitTime;
+    }
+
+    /**
+     * Gives back a permit reserved by {@link #reserve(long)} for a call that was never made, e.g. aborted while waiting.
+     */
+    synchronized void cancelReservation() {
+        final long now = System.currentTimeMillis();
+        minuteBucket.refill(now);
+        dayBucket.refill(now);
+        minuteBucket.giveBack();
+        dayBucket.giveBack();
+    }
+
+    private static class TokenBucket {
+        private final double capacity;
+        private final double tokensPerMilli;
+        private double tokens;
+        private long lastRefill = System.currentTimeMillis();
+
+        private TokenBucket(long capacity, long period) {
+            this.capacity = capacity;
+            this.tokensPerMilli = (double) capacity / period;
+            this.tokens = capacity;
+        }
+
+        private double refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMilli);
+                lastRefill = now;
+            }
+            return tokens;
+        }
+
+        private long waitTime(long now) {
+            final double available = refill(now);
+            // tokens go negative when permits are reserved in advance
+            return available >= 1 ? 0 : (long) Math.ceil((1 - available) / tokensPerMilli);
+        }
+
+        private void take() {
+            tokens -= 1;
+        }
+
+        private void giveBack() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+}
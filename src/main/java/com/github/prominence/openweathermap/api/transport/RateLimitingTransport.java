@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.RateLimitSettings;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.utils.SharedScheduler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Transport decorator that keeps calls within the client-side {@link RateLimiter}. In blocking mode calls over the limit
+ * are delayed, asynchronous ones without blocking any thread, otherwise they fail with {@link RateLimitExceededException}.
+ */
+public class RateLimitingTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private volatile RateLimiter rateLimiter;
+
+    /**
+     * Instantiates a new decorator that doesn't limit calls until {@link #setSettings(RateLimitSettings)} is called.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public RateLimitingTransport(HttpTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Replaces the rate limiter, new one starts with full buckets.
+     *
+     * @param settings rate limit settings or null to disable rate limiting.
+     */
+    public void setSettings(RateLimitSettings settings) {
+        this.rateLimiter = settings != null ? new RateLimiter(settings) : null;
+    }
+
+    /**
+     * @return current rate limiter or null if rate limiting is disabled.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final RateLimiter currentRateLimiter = rateLimiter;
+        if (currentRateLimiter != null) {
+            final long waitTime = reserve(currentRateLimiter, request);
+            if (waitTime > 0) {
+                try {
+                    Thread.sleep(waitTime);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the rate limit permit.");
+                }
+            }
+        }
+        return delegate.execute(request);
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final RateLimiter currentRateLimiter = rateLimiter;
+        if (currentRateLimiter == null) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        final CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        final long waitTime;
+        try {
+            waitTime = reserve(currentRateLimiter, request);
+        } catch (RateLimitExceededException ex) {
+            result.completeExceptionally(ex);
+            return result;
+        }
+        if (waitTime == 0) {
+            return delegate.executeAsync(request, executor);
+        }
+
+        // the delayed call is passed to the request executor, so the decorator chain doesn't run in the scheduler thread
+        final ScheduledFuture<?> delayedCall = SharedScheduler.schedule(() -> {
+            final CompletableFuture<TransportResponse> response;
+            try {
+                response = delegate.executeAsync(request, executor);
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            response.whenComplete((transportResponse, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else if (!result.complete(transportResponse)) {
+                    // the request was aborted in the meantime
+                    closeQuietly(transportResponse);
+                }
+            });
+        }, waitTime, executor);
+        request.onAbort(() -> {
+            if (delayedCall.cancel(false)) {
+                // the call won't be made, so its reserved permit is free for the following ones
+                currentRateLimiter.cancelReservation();
+            }
+            result.completeExceptionally(new InterruptedIOException("Request was aborted: " + request.getUrl()));
+        });
+        return result;
+    }
+
+    private static long reserve(RateLimiter rateLimiter, TransportRequest request) {
+        final long waitTime = rateLimiter.reserve(request.getRemainingTime());
+        if (waitTime < 0) {
+            throw new RateLimitExceededException("Client-side rate limit of " + rateLimiter.getSettings().getCallsPerMinute() + " calls per minute and "
+                    + rateLimiter.getSettings().getCallsPerDay() + " calls per day is exceeded.");
+        }
+        return waitTime;
+    }
+
+    private static void closeQuietly(TransportResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            // the response is discarded anyway
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the retried requests.
+ */
+public class RetryStatistics {
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong throttledRetries = new AtomicLong();
+    private final AtomicLong recoveredRequests = new AtomicLong();
+    private final AtomicLong exhaustedRequests = new AtomicLong();
+
+    /**
+     * @return total number of retry attempts.
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @return number of retry attempts caused by <code>429</code> responses.
+     */
+    public long getThrottledRetries() {
+        return throttledRetries.get();
+    }
+
+    /**
+     * @return number of requests that succeeded after being retried.
+     */
+    public long getRecoveredRequests() {
+        return recoveredRequests.get();
+    }
+
+    /**
+     * @return number of requests that failed after being retried or that couldn't be retried within deadline or backoff limits.
+     */
+    public long getExhaustedRequests() {
+        return exhaustedRequests.get();
+    }
+
+    void recordRetry(boolean throttled) {
+        retries.incrementAndGet();
+        if (throttled) {
+            throttledRetries.incrementAndGet();
+        }
+    }
+
+    void recordRecovery() {
+        recoveredRequests.incrementAndGet();
+    }
+
+    void recordExhaustion() {
+        exhaustedRequests.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "Retry: retries=" + retries + ", throttledRetries=" + throttledRetries +
+                ", recoveredRequests=" + recoveredRequests + ", exhaustedRequests=" + exhaustedRequests;
+    }
+}
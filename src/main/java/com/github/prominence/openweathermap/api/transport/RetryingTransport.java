@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.utils.SharedScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transport decorator that retries requests according to the {@link RetrySettings}.
+ * All API requests are idempotent GETs, so they are retried on network errors as well as on throttling and server errors.
+ * Retries never exceed request deadline, asynchronous requests wait for the next attempt without blocking any thread.
+ */
+public class RetryingTransport implements HttpTransport {
+    private static final Logger logger = LoggerFactory.getLogger(RetryingTransport.class);
+
+    private final HttpTransport delegate;
+    private final RetryStatistics statistics = new RetryStatistics();
+    private volatile RetrySettings retrySettings;
+
+    /**
+     * Instantiates a new decorator that doesn't retry requests until {@link #setRetrySettings(RetrySettings)} is called.
+     *
+     * @param delegate transport to execute requests with.
+     */
+    public RetryingTransport(HttpTransport delegate) {
+        this(delegate, new RetrySettings(1, 0, 0, 1, 0));
+    }
+
+    /**
+     * Instantiates a new decorator.
+     *
+     * @param delegate transport to execute requests with.
+     * @param retrySettings retry policy.
+     */
+    public RetryingTransport(HttpTransport delegate, RetrySettings retrySettings) {
+        this.delegate = delegate;
+        this.retrySettings = new RetrySettings(retrySettings);
+    }
+
+    public void setRetrySettings(RetrySettings retrySettings) {
+        this.retrySettings = new RetrySettings(retrySettings);
+    }
+
+    public RetryStatistics getRetryStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Checks whether the response status is a transient failure worth retrying.
+     *
+     * @param statusCode HTTP status code.
+     * @return true for <code>429</code>, <code>500</code>, <code>502</code>, <code>503</code> and <code>504</code>.
+     */
+    public static boolean isRetryable(int statusCode) {
+        switch (statusCode) {
+            case 429:
+            case 500:
+            case 502:
+            case 503:
+            case 504:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        final RetrySettings settings = retrySettings;
+        for (int attempt = 1; ; attempt++) {
+            final TransportResponse response;
+            final long delay;
+            if (attempt > 1) {
+                request.resent();
+            }
+            try {
+                response = delegate.execute(request);
+            } catch (IOException ex) {
+                delay = retryDelay(settings, request, attempt, null);
+                if (delay < 0) {
+                    recordFailure(settings);
+                    throw ex;
+                }
+                sleep(delay);
+                statistics.recordRetry(false);
+                continue;
+            }
+
+            if (!isRetryable(response.getStatusCode())) {
+                recordSuccess(attempt);
+                return response;
+            }
+            delay = retryDelay(settings, request, attempt, response.getRetryAfter());
+            if (delay < 0) {
+                recordFailure(settings);
+                return response;
+            }
+            response.close();
+            logger.debug("Retrying {} request after {} response in {} ms.", request.getEndpoint(), response.getStatusCode(), delay);
+            sleep(delay);
+            statistics.recordRetry(response.getStatusCode() == 429);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        final CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        attemptAsync(retrySettings, request, executor, 1, result);
+        return result;
+    }
+
+    private void attemptAsync(RetrySettings settings, TransportRequest request, Executor executor, int attempt, CompletableFuture<TransportResponse> result) {
+        final CompletableFuture<TransportResponse> response;
+        if (attempt > 1) {
+            request.resent();
+        }
+        try {
+            response = delegate.executeAsync(request, executor);
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+            return;
+        }
+
+        response.whenComplete((transportResponse, throwable) -> {
+            final long delay;
+            final boolean throttled;
+            if (throwable != null) {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                delay = cause instanceof IOException ? retryDelay(settings, request, attempt, null) : -1;
+                if (delay < 0) {
+                    if (cause instanceof IOException) {
+                        recordFailure(settings);
+                    }
+                    result.completeExceptionally(cause);
+                    return;
+                }
+                throttled = false;
+            } else if (isRetryable(transportResponse.getStatusCode())) {
+                delay = retryDelay(settings, request, attempt, transportResponse.getRetryAfter());
+                if (delay < 0) {
+                    recordFailure(settings);
+                    completeOrClose(result, transportResponse);
+                    return;
+                }
+                throttled = transportResponse.getStatusCode() == 429;
+                closeQuietly(transportResponse);
+            } else {
+                recordSuccess(attempt);
+                completeOrClose(result, transportResponse);
+                return;
+            }
+
+            logger.debug("Retrying {} request in {} ms.", request.getEndpoint(), delay);
+            statistics.recordRetry(throttled);
+            final ScheduledFuture<?> nextAttempt = SharedScheduler.schedule(() -> attemptAsync(settings, request, executor, attempt + 1, result), delay, executor);
+            request.onAbort(() -> {
+                nextAttempt.cancel(false);
+                result.completeExceptionally(new InterruptedIOException("Request was aborted: " + request.getUrl()));
+            });
+        });
+    }
+
+    /**
+     * Calculates delay before the next attempt.
+     *
+     * @return delay in milliseconds or -1 if the request must not be retried.
+     */
+    private long retryDelay(RetrySettings settings, TransportRequest request, int attempt, Long retryAfter) {
+        if (attempt >= settings.getMaxAttempts() || request.isAborted()) {
+            return -1;
+        }
+        final double exponentialBackoff = settings.getInitialBackoff() * Math.pow(settings.getMultiplier(), attempt - 1);
+        final long backoff = (long) Math.min(settings.getMaxBackoff(), exponentialBackoff);
+        long delay = backoff - (long) (backoff * settings.getJitter() * ThreadLocalRandom.current().nextDouble());
+        if (retryAfter != null) {
+            if (retryAfter > settings.getMaxBackoff()) {
+                return -1;
+            }
+            delay = Math.max(delay, retryAfter);
+        }
+        // there is no point in waiting if the next attempt would miss the deadline anyway
+        return delay < request.getRemainingTime() ? delay : -1;
+    }
+
+    private void recordSuccess(int attempt) {
+        if (attempt > 1) {
+            statistics.recordRecovery();
+        }
+    }
+
+    private void recordFailure(RetrySettings settings) {
+        if (settings.getMaxAttempts() > 1) {
+            statistics.recordExhaustion();
+        }
+    }
+
+    private static void sleep(long delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the next attempt.");
+        }
+    }
+
+    private static void completeOrClose(CompletableFuture<TransportResponse> result, TransportResponse response) {
+        if (!result.complete(response)) {
+            // the request was aborted in the meantime
+            closeQuietly(response);
+        }
+    }
+
+    private static void closeQuietly(TransportResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            // the response is discarded anyway
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the response body sizes.
+ * Transferred bytes are counted as they came over the network, decoded bytes are counted after decompression.
+ */
+public class TransferStatistics {
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong uncompressedResponses = new AtomicLong();
+
+    public long getTransferredBytes() {
+        return transferredBytes.get();
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    public long getUncompressedResponses() {
+        return uncompressedResponses.get();
+    }
+
+    AtomicLong transferredBytesCounter() {
+        return transferredBytes;
+    }
+
+    AtomicLong decodedBytesCounter() {
+        return decodedBytes;
+    }
+
+    void recordResponse(boolean compressed) {
+        if (compressed) {
+            compressedResponses.incrementAndGet();
+        } else {
+            uncompressedResponses.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Transfer: transferredBytes=" + transferredBytes + ", decodedBytes=" + decodedBytes +
+                ", compressedResponses=" + compressedResponses + ", uncompressedResponses=" + uncompressedResponses;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents GET request to be executed by {@link HttpTransport}.
+ */
+public class TransportRequest {
+    private final String url;
+    private final String endpoint;
+    private final TimeoutSettings timeoutSettings;
+    private final long deadline;
+    private final Map<String, String> headers = new LinkedHashMap<>(4);
+    private final List<Runnable> abortListeners = new ArrayList<>(2);
+    private volatile Runnable resendListener;
+    private boolean aborted;
+
+    /**
+     * Instantiates a new request.
+     *
+     * @param url full request url.
+     * @param timeoutSettings timeout settings.
+     */
+    public TransportRequest(String url, TimeoutSettings timeoutSettings) {
+        this(url, null, timeoutSettings);
+    }
+
+    /**
+     * Instantiates a new request.
+     *
+     * @param url full request url.
+     * @param endpoint API endpoint the url points to, e.g. <code>weather</code> or <code>air_pollution/history</code>. Might be null.
+     * @param timeoutSettings timeout settings.
+     */
+    public TransportRequest(String url, String endpoint, TimeoutSettings timeoutSettings) {
+        this.url = url;
+        this.endpoint = endpoint;
+        this.timeoutSettings = timeoutSettings;
+        final Integer totalTimeout = timeoutSettings != null ? timeoutSettings.getTotalTimeout() : null;
+        this.deadline = totalTimeout != null ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(totalTimeout) : 0;
+    }
+
+    /**
+     * Instantiates an independent copy of the request with the same deadline, so it can be aborted separately.
+     *
+     * @param from request to copy.
+     */
+    TransportRequest(TransportRequest from) {
+        this(from, from.timeoutSettings);
+    }
+
+    /**
+     * Instantiates an independent copy of the request with the same deadline and other timeout settings.
+     *
+     * @param from request to copy.
+     * @param timeoutSettings timeout settings of the copy.
+     */
+    TransportRequest(TransportRequest from, TimeoutSettings timeoutSettings) {
+        this.url = from.url;
+        this.endpoint = from.endpoint;
+        this.timeoutSettings = timeoutSettings;
+        this.deadline = from.deadline;
+        this.headers.putAll(from.headers);
+        this.resendListener = from.resendListener;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public TimeoutSettings getTimeoutSettings() {
+        return timeoutSettings;
+    }
+
+    /**
+     * @return true if the request has total timeout, see {@link TimeoutSettings#getTotalTimeout()}. It is counted since request creation.
+     */
+    public boolean hasDeadline() {
+        return deadline != 0;
+    }
+
+    /**
+     * @return time in milliseconds left till the deadline, 0 if it's exceeded or {@link Long#MAX_VALUE} if there is no deadline.
+     */
+    public long getRemainingTime() {
+        if (!hasDeadline()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return true if less than a millisecond is left till the deadline.
+     */
+    public boolean isExpired() {
+        return hasDeadline() && getRemainingTime() == 0;
+    }
+
+    /**
+     * Limits network timeout with the time left till the deadline.
+     *
+     * @param timeout configured timeout in milliseconds, null or 0 means no timeout.
+     * @return the timeout to use, null if there is no limit.
+     */
+    Integer capTimeout(Integer timeout) {
+        if (!hasDeadline()) {
+            return timeout;
+        }
+        // 0 means infinite timeout for the JDK
+        final int remainingTime = (int) Math.max(1, Math.min(Integer.MAX_VALUE, getRemainingTime()));
+        return timeout == null || timeout == 0 ? remainingTime : Math.min(timeout, remainingTime);
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void putHeader(String name, String value) {
+        headers.put(name, value);
+    }
+
+    /**
+     * Aborts the request: transports close its connection and stop reading the response.
+     * Used when the caller isn't interested in the result anymore, e.g. its future was cancelled.
+     */
+    public void abort() {
+        final List<Runnable> listeners;
+        synchronized (this) {
+            if (aborted) {
+                return;
+            }
+            aborted = true;
+            listeners = new ArrayList<>(abortListeners);
+            abortListeners.clear();
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Sets an action to be executed every time the request is sent once more, e.g. retried or hedged, so each call is counted.
+     * It is shared with the copies of the request made by transports.
+     *
+     * @param listener action, e.g. charging the quota of the API key, or null to remove it.
+     */
+    public void onResend(Runnable listener) {
+        this.resendListener = listener;
+    }
+
+    /**
+     * Notifies the listener set by {@link #onResend(Runnable)} that the request is being sent once more.
+     */
+    void resent() {
+        final Runnable listener = resendListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    public synchronized boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Registers an action to be executed on {@link #abort()}. It is executed immediately if the request is already aborted.
+     *
+     * @param listener action, e.g. closing of the connection.
+     */
+    public void onAbort(Runnable listener) {
+        synchronized (this) {
+            if (!aborted) {
+                abortListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+}
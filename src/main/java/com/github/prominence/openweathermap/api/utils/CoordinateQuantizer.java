@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.CoordinateQuantizationSettings;
+import com.github.prominence.openweathermap.api.model.Coordinate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Snaps coordinates to the cells of the configured grid before they are sent.
+ */
+public class CoordinateQuantizer {
+    private final CoordinateQuantizationSettings.Mode mode;
+    private final int precision;
+
+    public CoordinateQuantizer(CoordinateQuantizationSettings settings) {
+        if (settings.getMode() == null) {
+            throw new IllegalArgumentException("Quantization mode must be set.");
+        }
+        if (settings.getMode() == CoordinateQuantizationSettings.Mode.DECIMAL_PLACES && (settings.getPrecision() < 0 || settings.getPrecision() > 15)) {
+            throw new IllegalArgumentException("Decimal places must be in the next range: [0; 15].");
+        }
+        if (settings.getMode() == CoordinateQuantizationSettings.Mode.GEOHASH && (settings.getPrecision() < 1 || settings.getPrecision() > 12)) {
+            throw new IllegalArgumentException("Geohash length must be in the next range: [1; 12].");
+        }
+        this.mode = settings.getMode();
+        this.precision = settings.getPrecision();
+    }
+
+    /**
+     * Quantizes the coordinate.
+     *
+     * @param coordinate coordinate
+     * @return coordinate of the cell that contains the passed one.
+     */
+    public Coordinate quantize(Coordinate coordinate) {
+        if (mode == CoordinateQuantizationSettings.Mode.GEOHASH) {
+            return geohashCellCenter(coordinate);
+        }
+        return Coordinate.of(round(coordinate.getLatitude()), round(coordinate.getLongitude()));
+    }
+
+    private double round(double value) {
+        return BigDecimal.valueOf(value).setScale(precision, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private Coordinate geohashCellCenter(Coordinate coordinate) {
+        // geohash interleaves 5 bits per character starting with longitude, so bisecting the ranges is enough
+        final int bits = precision * 5;
+        final double[] latitudeRange = {-90, 90};
+        final double[] longitudeRange = {-180, 180};
+        for (int bit = 0; bit < bits; bit++) {
+            if (bit % 2 == 0) {
+                bisect(longitudeRange, coordinate.getLongitude());
+            } else {
+                bisect(latitudeRange, coordinate.getLatitude());
+            }
+        }
+        return Coordinate.of((latitudeRange[0] + latitudeRange[1]) / 2, (longitudeRange[0] + longitudeRange[1]) / 2);
+    }
+
+    private static void bisect(double[] range, double value) {
+        final double middle = (range[0] + range[1]) / 2;
+        if (value >= middle) {
+            range[0] = middle;
+        } else {
+            range[1] = middle;
+        }
+    }
+}
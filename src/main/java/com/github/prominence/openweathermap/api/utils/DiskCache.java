@@ -0,0 +1,612 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only disk store of the raw response bodies in memory-mapped segment files. Segment starts with its magic number
+ * and write position, records are appended after them:
+ * <pre>
+ * int length | long fetchedAt | long ttl | int keyLength | key | int bodyLength | body | int crc32
+ * </pre>
+ * Index of the records is saved to the snapshot file whenever a segment is rolled and on close, so on start only records
+ * appended after the snapshot are scanned. Broken record, e.g. a partially written one, truncates its segment.
+ * When the number of segments exceeds the limit, live records of the oldest segment are moved to the newest one
+ * and the oldest segment file is unmapped and deleted after the index is saved, so a file that cannot be deleted yet
+ * is just left behind and removed on the next start.
+ * The directory is locked while the cache is open, another instance fails with {@link DirectoryLockedException}.
+ */
+class DiskCache implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(DiskCache.class);
+
+    private static final int SEGMENT_MAGIC = 0x4f574d43;
+    private static final int INDEX_MAGIC = 0x4f574d49;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 32;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String INDEX_FILE = "index.dat";
+    private static final String LOCK_FILE = "lock";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private Segment activeSegment;
+    private boolean closed;
+
+    /**
+     * Opens the disk cache restoring records of the previous runs.
+     *
+     * @param settings disk cache settings.
+     * @throws DirectoryLockedException in case if the directory is used by another instance, e.g. during a rolling deploy.
+     * @throws IOException in case if the directory or segment files cannot be created or mapped.
+     */
+    DiskCache(DiskCacheSettings settings) throws IOException {
+        if (settings.getSegmentSize() <= HEADER_SIZE + RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("Segment size must be greater than " + (HEADER_SIZE + RECORD_OVERHEAD) + " bytes.");
+        }
+        if (settings.getMaxSegments() < 1) {
+            throw new IllegalArgumentException("Maximum number of segments must be positive.");
+        }
+        this.directory = settings.getDirectory();
+        this.segmentSize = settings.getSegmentSize();
+        this.maxSegments = settings.getMaxSegments();
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            this.lock = tryLock(lockChannel);
+            if (lock == null) {
+                throw new DirectoryLockedException("Disk cache directory is used by another instance: " + directory);
+            }
+            openSegments();
+            final Map<Long, Integer> indexedPositions = readIndex();
+            deleteRetiredSegments(indexedPositions);
+            for (Segment segment : segments.values()) {
+                scan(segment, indexedPositions.getOrDefault(segment.id, HEADER_SIZE));
+            }
+            activeSegment = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+        } catch (IOException | RuntimeException ex) {
+            segments.values().forEach(Segment::unmap);
+            lockChannel.close();
+            throw ex;
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            // the lock is held by this JVM, e.g. by another client
+            return null;
+        }
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @param key canonical request.
+     * @return record or null if there is no one or it is expired.
+     */
+    synchronized Record get(String key) {
+        if (closed) {
+            return null;
+        }
+        final Location location = index.get(key);
+        if (location != null && location.isExpired()) {
+            index.remove(key);
+            return null;
+        }
+        return peek(key);
+    }
+
+    /**
+     * @param key canonical request.
+     * @return record even if it is expired, so its body can be revalidated, or null if there is no one.
+     */
+    synchronized Record peek(String key) {
+        if (closed) {
+            return null;
+        }
+        final Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        final Record record = Record.decode(segments.get(location.segmentId).read(location.offset));
+        if (record == null || !record.key.equals(key)) {
+            index.remove(key);
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * Appends the record, it replaces the previous one of the same key.
+     *
+     * @param key canonical request.
+     * @param fetchedAt time the body was received at, in milliseconds since epoch.
+     * @param ttl time in milliseconds the record is valid for.
+     * @param body raw response body.
+     * @throws IOException in case if new segment cannot be created.
+     */
+    synchronized void put(String key, long fetchedAt, long ttl, byte[] body) throws IOException {
+        if (closed || ttl <= 0) {
+            return;
+        }
+        final byte[] record = Record.encode(key, fetchedAt, ttl, body);
+        if (record.length > segmentSize - HEADER_SIZE) {
+            return;
+        }
+        if (record.length > activeSegment.remaining()) {
+            roll();
+        }
+        // the record may still not fit if the moved records took the space of the new segment
+        if (record.length <= activeSegment.remaining()) {
+            index.put(key, new Location(activeSegment.id, activeSegment.append(record), fetchedAt + ttl));
+        }
+    }
+
+    synchronized void clear() throws IOException {
+        if (closed) {
+            return;
+        }
+        final long nextId = activeSegment.id + 1;
+        final List<Segment> retired = new ArrayList<>(segments.values());
+        index.clear();
+        segments.clear();
+        activeSegment = createSegment(nextId);
+        writeIndex();
+        retired.forEach(this::delete);
+    }
+
+    /**
+     * Saves the index snapshot, so the next start doesn't scan the segments.
+     *
+     * @throws IOException in case if the snapshot cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeIndex();
+        } finally {
+            segments.values().forEach(Segment::unmap);
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    private void roll() throws IOException {
+        activeSegment = createSegment(activeSegment.id + 1);
+        final Segment retired = segments.size() > maxSegments ? compactOldest() : null;
+        // the segment is deleted once the index doesn't refer to it
+        writeIndex();
+        if (retired != null) {
+            delete(retired);
+        }
+    }
+
+    /**
+     * Moves live records of the oldest segment to the active one and removes the oldest segment from the cache.
+     *
+     * @return the removed segment.
+     */
+    private Segment compactOldest() {
+        final Segment oldest = segments.pollFirstEntry().getValue();
+        // not more than a half of the new segment is given to the moved records, the rest of them is evicted
+        final int reserved = activeSegment.remaining() / 2;
+        final Iterator<Map.Entry<String, Location>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Location> entry = iterator.next();
+            final Location location = entry.getValue();
+            if (location.segmentId != oldest.id) {
+                continue;
+            }
+            final byte[] record = oldest.read(location.offset);
+            if (location.isExpired() || record == null || record.length > activeSegment.remaining() - reserved) {
+                iterator.remove();
+            } else {
+                entry.setValue(new Location(activeSegment.id, activeSegment.append(record), location.expiresAt));
+            }
+        }
+        return oldest;
+    }
+
+    private void delete(Segment segment) {
+        segment.unmap();
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException ex) {
+            logger.warn("Cannot delete disk cache segment, it is deleted on the next start: " + segment.path, ex);
+        }
+    }
+
+    /**
+     * Deletes segments that are older than the ones in the index snapshot: they were removed, but their files couldn't be deleted.
+     */
+    private void deleteRetiredSegments(Map<Long, Integer> indexedPositions) {
+        if (indexedPositions.isEmpty()) {
+            return;
+        }
+        final long oldestIndexed = indexedPositions.keySet().stream().min(Long::compare).get();
+        while (!segments.isEmpty() && segments.firstKey() < oldestIndexed) {
+            delete(segments.pollFirstEntry().getValue());
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        final Segment segment = Segment.create(directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX), id, segmentSize);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void openSegments() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                final String name = path.getFileName().toString();
+                final long id;
+                try {
+                    id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException ex) {
+                    continue;
+                }
+                final Segment segment = Segment.open(path, id);
+                if (segment != null) {
+                    segments.put(id, segment);
+                } else {
+                    logger.warn("Unknown disk cache segment format, it is deleted: " + path);
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private void scan(Segment segment, int from) {
+        int position = from;
+        while (position < segment.writePosition) {
+            final byte[] bytes = segment.read(position);
+            final Record record = Record.decode(bytes);
+            if (record == null) {
+                logger.warn("Broken disk cache record at " + position + " of " + segment.path + ", the rest of the segment is dropped.");
+                segment.truncate(position);
+                break;
+            }
+            index.put(record.key, new Location(segment.id, position, record.fetchedAt + record.ttl));
+            position += bytes.length;
+        }
+    }
+
+    private Map<Long, Integer> readIndex() {
+        final Path indexFile = directory.resolve(INDEX_FILE);
+        final Map<Long, Integer> positions = new HashMap<>();
+        if (!Files.exists(indexFile)) {
+            return positions;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                throw new IOException("Unknown index format.");
+            }
+            final int segmentCount = in.readInt();
+            for (int i = 0; i < segmentCount; i++) {
+                positions.put(in.readLong(), in.readInt());
+            }
+            final int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                final int keyLength = in.readInt();
+                if (keyLength < 0 || keyLength > segmentSize) {
+                    throw new IOException("Broken index entry.");
+                }
+                final byte[] key = new byte[keyLength];
+                in.readFully(key);
+                final Location location = new Location(in.readLong(), in.readInt(), in.readLong());
+                final Segment segment = segments.get(location.segmentId);
+                if (segment != null && location.offset < segment.writePosition) {
+                    index.put(new String(key, StandardCharsets.UTF_8), location);
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Cannot read disk cache index, all segments are scanned: ", ex);
+            index.clear();
+            positions.clear();
+        }
+        return positions;
+    }
+
+    private void writeIndex() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+        final Path temporaryFile = directory.resolve(INDEX_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(segments.size());
+            for (Segment segment : segments.values()) {
+                out.writeLong(segment.id);
+                out.writeInt(segment.writePosition);
+            }
+            out.writeInt(index.size());
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                final byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeLong(entry.getValue().segmentId);
+                out.writeInt(entry.getValue().offset);
+                out.writeLong(entry.getValue().expiresAt);
+            }
+        }
+        Files.move(temporaryFile, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stored response body with its metadata.
+     */
+    static class Record {
+        private final String key;
+        private final long fetchedAt;
+        private final long ttl;
+        private final byte[] body;
+
+        private Record(String key, long fetchedAt, long ttl, byte[] body) {
+            this.key = key;
+            this.fetchedAt = fetchedAt;
+            this.ttl = ttl;
+            this.body = body;
+        }
+
+        long getFetchedAt() {
+            return fetchedAt;
+        }
+
+        long getTtl() {
+            return ttl;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        private static byte[] encode(String key, long fetchedAt, long ttl, byte[] body) {
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            final ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + keyBytes.length + body.length);
+            buffer.putInt(buffer.capacity() - 4);
+            buffer.putLong(fetchedAt).putLong(ttl);
+            buffer.putInt(keyBytes.length).put(keyBytes);
+            buffer.putInt(body.length).put(body);
+            final CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 4, buffer.position() - 4);
+            buffer.putInt((int) crc.getValue());
+            return buffer.array();
+        }
+
+        /**
+         * @param bytes record bytes including the length.
+         * @return record or null if the bytes are missing or the checksum doesn't match.
+         */
+        private static Record decode(byte[] bytes) {
+            if (bytes == null) {
+                return null;
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(bytes, 4, bytes.length - 8);
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if ((int) crc.getValue() != buffer.getInt(bytes.length - 4)) {
+                return null;
+            }
+            buffer.position(4);
+            final long fetchedAt = buffer.getLong();
+            final long ttl = buffer.getLong();
+            final int keyLength = buffer.getInt();
+            if (keyLength < 0 || keyLength > buffer.remaining() - 8) {
+                return null;
+            }
+            final byte[] key = new byte[keyLength];
+            buffer.get(key);
+            final int bodyLength = buffer.getInt();
+            if (bodyLength != buffer.remaining() - 4) {
+                return null;
+            }
+            final byte[] body = new byte[bodyLength];
+            buffer.get(body);
+            return new Record(new String(key, StandardCharsets.UTF_8), fetchedAt, ttl, body);
+        }
+    }
+
+    private static class Location {
+        private final long segmentId;
+        private final int offset;
+        private final long expiresAt;
+
+        Location(long segmentId, int offset, long expiresAt) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    /**
+     * Thrown when the directory is locked by another instance of the disk cache.
+     */
+    static class DirectoryLockedException extends IOException {
+        DirectoryLockedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Memory-mapped segment file. The mapping is released by {@link #unmap()} or by the garbage collector.
+     */
+    private static class Segment {
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer, int writePosition) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+            this.writePosition = writePosition;
+        }
+
+        static Segment create(Path path, long id, int size) throws IOException {
+            final MappedByteBuffer buffer = map(path, size);
+            buffer.putInt(0, SEGMENT_MAGIC);
+            buffer.putInt(4, HEADER_SIZE);
+            return new Segment(id, path, buffer, HEADER_SIZE);
+        }
+
+        /**
+         * @return segment or null if the file isn't a valid segment.
+         */
+        static Segment open(Path path, long id) throws IOException {
+            final long size = Files.size(path);
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            final MappedByteBuffer buffer = map(path, (int) size);
+            final int writePosition = buffer.getInt(4);
+            if (buffer.getInt(0) != SEGMENT_MAGIC || writePosition < HEADER_SIZE || writePosition > size) {
+                return null;
+            }
+            return new Segment(id, path, buffer, writePosition);
+        }
+
+        private static MappedByteBuffer map(Path path, int size) throws IOException {
+            // the mapping stays valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        int remaining() {
+            return buffer.capacity() - writePosition;
+        }
+
+        int append(byte[] record) {
+            final int offset = writePosition;
+            final ByteBuffer target = buffer.duplicate();
+            target.position(offset);
+            target.put(record);
+            // the position is published after the record, so a crash in between leaves the record unreachable
+            writePosition += record.length;
+            buffer.putInt(4, writePosition);
+            return offset;
+        }
+
+        /**
+         * @return record bytes including the length or null if the length is out of the written part.
+         */
+        byte[] read(int offset) {
+            if (offset < HEADER_SIZE || offset > writePosition - 4) {
+                return null;
+            }
+            final int length = buffer.getInt(offset);
+            if (length < RECORD_OVERHEAD - 4 || length > writePosition - offset - 4) {
+                return null;
+            }
+            final byte[] record = new byte[length + 4];
+            final ByteBuffer source = buffer.duplicate();
+            source.position(offset);
+            source.get(record);
+            return record;
+        }
+
+        void truncate(int position) {
+            writePosition = position;
+            buffer.putInt(4, position);
+        }
+
+        /**
+         * Releases the mapping right away, so the file can be deleted on the platforms that don't allow to delete mapped files.
+         * The segment must not be used afterwards.
+         */
+        void unmap() {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner;
+                try {
+                    invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                } catch (NoSuchMethodException ex) {
+                    // Java 8
+                    final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    final Object cleaner = cleanerMethod.invoke(buffer);
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    return;
+                }
+                final Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+                unsafeField.setAccessible(true);
+                invokeCleaner.invoke(unsafeField.get(null), buffer);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                logger.debug("Cannot unmap disk cache segment, it is released by the garbage collector: " + path, ex);
+            }
+        }
+    }
+}
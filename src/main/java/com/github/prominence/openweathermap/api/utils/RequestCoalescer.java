@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.exception.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical requests: while a request is in flight, identical calls don't go to the network,
+ * they wait for it and get the same result. Result objects are shared between the callers, so they must not be modified.
+ * Asynchronous callers may cancel their futures independently, the shared request is aborted only when all of them did.
+ */
+public class RequestCoalescer {
+    private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * @return number of distinct requests being executed at the moment.
+     */
+    public int getInFlightRequests() {
+        return flights.size();
+    }
+
+    /**
+     * @return number of calls that were served by another identical request instead of executing their own one.
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    /**
+     * Executes the call or waits for the identical one.
+     *
+     * @param key canonical request.
+     * @param totalTimeout time limit of the waiting in milliseconds, null means no limit.
+     * @param call the call to execute.
+     * @param <T> result type.
+     * @return result of the call.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(Object key, Integer totalTimeout, Supplier<T> call) {
+        final Flight flight = join(key);
+        if (flight.lead()) {
+            try {
+                final T value = call.get();
+                flight.result.complete(value);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                flight.result.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        coalescedRequests.incrementAndGet();
+
+        try {
+            return (T) (totalTimeout == null ? flight.result.get() : flight.result.get(totalTimeout, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException("Request deadline of " + totalTimeout + " ms exceeded.", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the identical request.");
+        }
+    }
+
+    /**
+     * Executes the call asynchronously or subscribes to the identical one.
+     *
+     * @param key canonical request.
+     * @param totalTimeout time limit of the waiting in milliseconds, null means no limit.
+     * @param call the call to execute.
+     * @param executor executor the result is completed in when the time limit is exceeded.
+     * @param <T> result type.
+     * @return future of the call result owned by the caller.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> executeAsync(Object key, Integer totalTimeout, Supplier<CompletableFuture<T>> call, Executor executor) {
+        final Flight flight = join(key);
+        if (flight.lead()) {
+            final CompletableFuture<T> callResult;
+            try {
+                callResult = call.get();
+            } catch (RuntimeException | Error ex) {
+                flight.result.completeExceptionally(ex);
+                throw ex;
+            }
+            callResult.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    flight.result.completeExceptionally(unwrap(throwable));
+                } else {
+                    flight.result.complete(value);
+                }
+            });
+            // all subscribers have left, so the request is not needed anymore
+            flight.result.whenComplete((value, throwable) -> {
+                if (throwable instanceof CancellationException) {
+                    callResult.cancel(false);
+                }
+            });
+        } else {
+            coalescedRequests.incrementAndGet();
+        }
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        flight.result.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(unwrap(throwable));
+            } else {
+                result.complete((T) value);
+            }
+        });
+        if (totalTimeout != null) {
+            final ScheduledFuture<?> deadlineTimer = SharedScheduler.schedule(() -> result.completeExceptionally(
+                    new DeadlineExceededException("Request deadline of " + totalTimeout + " ms exceeded.")), totalTimeout, executor);
+            result.whenComplete((value, throwable) -> deadlineTimer.cancel(false));
+        }
+        result.whenComplete((value, throwable) -> {
+            if (throwable instanceof CancellationException || throwable instanceof TimeoutException || throwable instanceof DeadlineExceededException) {
+                flight.leave();
+            }
+        });
+        return result;
+    }
+
+    private Flight join(Object key) {
+        return flights.compute(key, (k, existing) -> existing != null && existing.tryJoin() ? existing : new Flight(k));
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    private class Flight {
+        private final Object key;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger subscribers = new AtomicInteger(1);
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        Flight(Object key) {
+            this.key = key;
+            result.whenComplete((value, throwable) -> flights.remove(key, this));
+        }
+
+        /**
+         * @return true if the caller has to execute the request.
+         */
+        boolean lead() {
+            return started.compareAndSet(false, true);
+        }
+
+        boolean tryJoin() {
+            while (true) {
+                final int current = subscribers.get();
+                if (current == 0 || result.isDone()) {
+                    return false;
+                }
+                if (subscribers.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void leave() {
+            if (subscribers.decrementAndGet() == 0) {
+                flights.remove(key, this);
+                result.cancel(false);
+            }
+        }
+    }
+}
@@ -23,18 +23,50 @@
 package com.github.prominence.openweathermap.api.utils;
 
 import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.exception.BulkheadFullException;
+import com.github.prominence.openweathermap.api.exception.ConcurrencyLimitExceededException;
+import com.github.prominence.openweathermap.api.exception.DeadlineExceededException;
+import com.github.prominence.openweathermap.api.exception.LocationNotFoundException;
 import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
 import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import com.github.prominence.openweathermap.api.exception.ServerErrorException;
+import com.github.prominence.openweathermap.api.exception.TooManyRequestsException;
+import com.github.prominence.openweathermap.api.key.ApiKey;
+import com.github.prominence.openweathermap.api.key.ApiKeyPool;
+import com.github.prominence.openweathermap.api.mapper.AirPollutionResponseMapper;
+import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
+import com.github.prominence.openweathermap.api.mapper.FiveDayThreeHourStepForecastResponseMapper;
+import com.github.prominence.openweathermap.api.mapper.OneCallWeatherResponseMapper;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.transport.ContentDecodingTransport;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.HttpURLConnectionTransport;
+import com.github.prominence.openweathermap.api.transport.TransportRequest;
+import com.github.prominence.openweathermap.api.transport.TransportResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.net.HttpURLConnection;
+import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +76,7 @@ public final class RequestUtils {
 
     private static final String OWM_URL_BASE = "https://api.openweathermap.org/data/2.5/";
     private static final String OWM_URL_BASE_3_0 = "https://api.openweathermap.org/data/3.0/";
+    private static final String API_KEY_PARAM_NAME = "appid";
 
     private static final Logger logger = LoggerFactory.getLogger(RequestUtils.class);
 
@@ -51,24 +84,100 @@ public final class RequestUtils {
     }
 
     public static String getResponse(RequestSettings requestSettings) {
-        StringBuilder requestUrlBuilder = new StringBuilder(OWM_URL_BASE);
-        if(requestSettings.getUseApi3()) {
-            requestUrlBuilder = new StringBuilder(OWM_URL_BASE_3_0);
+        return getResponse(requestSettings, String.class.getName(), RequestUtils::convertInputStreamToString);
+    }
+
+    /**
+     * Executes API call described by request settings, see {@link #getResponse(RequestSettings, Function)}.
+     * Mappers can't be compared, so the calls with different mappers that produce the same result, e.g. synchronous and
+     * asynchronous ones, should pass the same result type to share coalescing and cache entries.
+     *
+     * @param requestSettings request settings.
+     * @param resultType stable identifier of the result type, e.g. its class name.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return mapped result.
+     */
+    public static <T> T getResponse(RequestSettings requestSettings, String resultType, Function<InputStream, T> mapper) {
+        return getResponse(requestSettings, new ResultMapper<>(resultType, mapper));
+    }
+
+    /**
+     * Executes API call described by request settings and passes response body stream directly to the mapper.
+     * That way response is parsed while it is being read, without building intermediate <code>String</code>.
+     *
+     * @param requestSettings request settings.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return mapped result.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getResponse(RequestSettings requestSettings, Function<InputStream, T> mapper) {
+        final ResponseCache responseCache = requestSettings.getResponseCache();
+        final String endpoint = requestSettings.getUrlAppender().toString();
+        if (responseCache == null || !responseCache.isCacheable(endpoint)) {
+            return coalesceRequest(requestSettings, mapper);
         }
-        requestUrlBuilder.append(requestSettings.getUrlAppender());
-        requestUrlBuilder.append('?');
-        String parameters = requestSettings.getRequestParameters().entrySet().stream()
-                .map(entry -> {
-                    try {
-                        return entry.getKey() + "=" + URLEncoder.encode(entry.getValue(), "UTF-8");
-                    } catch (UnsupportedEncodingException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .collect(Collectors.joining("&"));
-        requestUrlBuilder.append(parameters);
 
-        return getResponse(requestUrlBuilder.toString(), requestSettings.getTimeoutSettings());
+        final String canonicalRequest = getCanonicalRequest(requestSettings);
+        final String key = getRequestKey(canonicalRequest, mapper);
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry == null) {
+            entry = responseCache.load(key, canonicalRequest, endpoint, mapper);
+        }
+        if (entry != null) {
+            if (entry.isStale()) {
+                refreshInBackground(responseCache, key, endpoint, requestSettings, mapper);
+            }
+            return (T) entry.getResult();
+        }
+        final T value;
+        try {
+            value = coalesceRequest(requestSettings, responseCache.persisting(canonicalRequest, endpoint, mapper));
+        } catch (LocationNotFoundException ex) {
+            responseCache.putNotFound(key, ex);
+            throw ex;
+        }
+        responseCache.put(key, endpoint, value);
+        return value;
+    }
+
+    private static <T> T coalesceRequest(RequestSettings requestSettings, Function<InputStream, T> mapper) {
+        final RequestCoalescer requestCoalescer = requestSettings.getRequestCoalescer();
+        if (requestCoalescer == null) {
+            return executeRequest(requestSettings, mapper);
+        }
+        return requestCoalescer.execute(getRequestKey(requestSettings, mapper), requestSettings.getTimeoutSettings().getTotalTimeout(),
+                () -> executeRequest(requestSettings, mapper));
+    }
+
+    private static <T> T executeRequest(RequestSettings requestSettings, Function<InputStream, T> mapper) {
+        final ApiKeyPool apiKeyPool = requestSettings.getApiKeyPool();
+        if (apiKeyPool == null) {
+            return executeRequest(requestSettings, null, mapper);
+        }
+
+        final String endpoint = requestSettings.getUrlAppender().toString();
+        final ApiKey apiKey = apiKeyPool.acquire(requestSettings.getRequiredPlan(), endpoint);
+        try {
+            final T result = executeRequest(requestSettings, apiKey, mapper);
+            apiKeyPool.release(apiKey, endpoint, null);
+            return result;
+        } catch (RuntimeException ex) {
+            apiKeyPool.release(apiKey, endpoint, ex);
+            throw ex;
+        }
+    }
+
+    private static <T> T executeRequest(RequestSettings requestSettings, ApiKey apiKey, Function<InputStream, T> mapper) {
+        final TransportRequest request = createRequest(requestSettings, apiKey);
+        final RevalidationCache revalidationCache = requestSettings.getRevalidationCache();
+        if (revalidationCache == null) {
+            return getResponse(request, requestSettings.getTransport(), mapper);
+        }
+        final String key = getRequestKey(requestSettings, mapper);
+        final RevalidationCache.Entry previous = prepareConditionalRequest(revalidationCache, key, request);
+        return execute(request, requestSettings.getTransport(), response -> mapRevalidatedResponse(revalidationCache, key, previous, response, mapper));
     }
 
     /**
@@ -91,61 +200,585 @@ public final class RequestUtils {
      * @throws IllegalArgumentException in case if provided parameter isn't a valid url for {@link URL} instance.
      */
     public static String getResponse(String url, TimeoutSettings timeoutSettings) {
-        URL requestUrl;
+        return getResponse(new TransportRequest(url, timeoutSettings), new ContentDecodingTransport(new HttpURLConnectionTransport()));
+    }
+
+    /**
+     * Executes provided request using the transport and retrieves response in <code>String</code> representation.
+     *
+     * @param request the request to execute.
+     * @param transport the transport to execute request with.
+     * @return response from the request in <code>String</code> representation.
+     * @throws IllegalArgumentException in case if request url isn't a valid url for {@link URL} instance.
+     */
+    public static String getResponse(TransportRequest request, HttpTransport transport) {
+        return getResponse(request, transport, RequestUtils::convertInputStreamToString);
+    }
+
+    /**
+     * Executes provided request using the transport and passes response body stream to the mapper.
+     *
+     * @param request the request to execute.
+     * @param transport the transport to execute request with.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return mapped result.
+     * @throws IllegalArgumentException in case if request url isn't a valid url for {@link URL} instance.
+     */
+    public static <T> T getResponse(TransportRequest request, HttpTransport transport, Function<InputStream, T> mapper) {
+        return execute(request, transport, response -> mapResponse(response, mapper));
+    }
+
+    private static <T> T execute(TransportRequest request, HttpTransport transport, Function<TransportResponse, T> responseMapper) {
         try {
-            requestUrl = new URL(url);
+            new URL(request.getUrl());
         } catch (MalformedURLException ex) {
             logger.error("Invalid URL: ", ex);
             throw new IllegalArgumentException(ex);
         }
-        logger.debug("Executing OpenWeatherMap API request: " + url);
-        final InputStream requestInputStream = executeRequest(requestUrl, timeoutSettings);
+        logger.debug("Executing OpenWeatherMap API request: " + request.getUrl());
+
+        // connection is closed on the deadline, so neither slow body transfer nor parsing can exceed it
+        final ScheduledFuture<?> deadlineTimer = request.hasDeadline() ? SharedScheduler.schedule(request::abort, request.getRemainingTime()) : null;
+        try {
+            final TransportResponse response;
+            try {
+                response = transport.execute(request);
+            } catch (IOException ex) {
+                if (request.isExpired()) {
+                    throw deadlineExceeded(request, ex);
+                }
+                logger.error("An error occurred during OpenWeatherMap API request execution: ", ex);
+                throw new NoDataFoundException(ex);
+            } catch (BulkheadFullException | ConcurrencyLimitExceededException ex) {
+                if (request.isExpired()) {
+                    throw deadlineExceeded(request, ex);
+                }
+                throw ex;
+            }
+
+            try {
+                return responseMapper.apply(response);
+            } catch (RuntimeException ex) {
+                // body reading failed because the connection was closed on the deadline
+                if (request.isExpired() && hasIOExceptionCause(ex)) {
+                    throw deadlineExceeded(request, ex);
+                }
+                throw ex;
+            }
+        } finally {
+            if (deadlineTimer != null) {
+                deadlineTimer.cancel(false);
+            }
+        }
+    }
 
-        return convertInputStreamToString(requestInputStream);
+    /**
+     * Executes API call described by request settings asynchronously and retrieves response in <code>String</code> representation.
+     *
+     * @param requestSettings request settings.
+     * @return future of the response in <code>String</code> representation.
+     */
+    public static CompletableFuture<String> getResponseAsync(RequestSettings requestSettings) {
+        return getResponseAsync(requestSettings, String.class.getName(), RequestUtils::convertInputStreamToString);
     }
 
     /**
-     * Executes call to provided API url and retrieves response as an <code>InputStream</code> instance.
+     * Executes API call described by request settings asynchronously, see {@link #getResponseAsync(RequestSettings, Function)}.
+     * Mappers can't be compared, so the calls with different mappers that produce the same result, e.g. synchronous and
+     * asynchronous ones, should pass the same result type to share coalescing and cache entries.
      *
-     * @param requestUrl url for API call execution.
-     * @return <code>InputStream</code> instance containing http response body.
-     * @throws InvalidAuthTokenException in case if authentication token wasn't set or requested functionality is not permitted for its subscription plan.
-     * @throws NoDataFoundException in case if there is no any data for requested location(s) or request is invalid.
+     * @param requestSettings request settings.
+     * @param resultType stable identifier of the result type, e.g. its class name.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return future of the mapped result.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(RequestSettings requestSettings, String resultType, Function<InputStream, T> mapper) {
+        return getResponseAsync(requestSettings, new ResultMapper<>(resultType, mapper));
+    }
+
+    /**
+     * Executes API call described by request settings asynchronously. Mapping is chained onto the response completion,
+     * so with non-blocking transport no thread waits for the network round trip.
+     *
+     * @param requestSettings request settings.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return future of the mapped result.
      */
-    private static InputStream executeRequest(URL requestUrl, TimeoutSettings timeoutSettings) {
-        InputStream resultStream;
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> getResponseAsync(RequestSettings requestSettings, Function<InputStream, T> mapper) {
+        final ResponseCache responseCache = requestSettings.getResponseCache();
+        final String endpoint = requestSettings.getUrlAppender().toString();
+        if (responseCache == null || !responseCache.isCacheable(endpoint)) {
+            return coalesceRequestAsync(requestSettings, mapper);
+        }
+
+        final String canonicalRequest = getCanonicalRequest(requestSettings);
+        final String key = getRequestKey(canonicalRequest, mapper);
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry == null) {
+            entry = responseCache.load(key, canonicalRequest, endpoint, mapper);
+        }
+        if (entry != null) {
+            if (entry.isStale()) {
+                refreshInBackground(responseCache, key, endpoint, requestSettings, mapper);
+            }
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            try {
+                result.complete((T) entry.getResult());
+            } catch (LocationNotFoundException ex) {
+                result.completeExceptionally(ex);
+            }
+            return result;
+        }
+        final CompletableFuture<T> result = coalesceRequestAsync(requestSettings, responseCache.persisting(canonicalRequest, endpoint, mapper));
+        result.whenComplete((value, throwable) -> storeResult(responseCache, key, endpoint, value, throwable));
+        return result;
+    }
+
+    private static <T> void refreshInBackground(ResponseCache responseCache, String key, String endpoint, RequestSettings requestSettings,
+                                                Function<InputStream, T> mapper) {
+        if (!responseCache.startRefresh(key)) {
+            return;
+        }
+        final CompletableFuture<T> refresh;
+        try {
+            refresh = coalesceRequestAsync(requestSettings, responseCache.persisting(getCanonicalRequest(requestSettings), endpoint, mapper));
+        } catch (RuntimeException ex) {
+            responseCache.finishRefresh(key);
+            return;
+        }
+        // failed refresh keeps the stale result until it expires, the next stale hit retries
+        refresh.whenComplete((value, throwable) -> {
+            storeResult(responseCache, key, endpoint, value, throwable);
+            responseCache.finishRefresh(key);
+        });
+    }
+
+    private static void storeResult(ResponseCache responseCache, String key, String endpoint, Object value, Throwable throwable) {
+        if (throwable == null) {
+            responseCache.put(key, endpoint, value);
+            return;
+        }
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof LocationNotFoundException) {
+            responseCache.putNotFound(key, (LocationNotFoundException) cause);
+        }
+    }
+
+    private static <T> CompletableFuture<T> coalesceRequestAsync(RequestSettings requestSettings, Function<InputStream, T> mapper) {
+        final RequestCoalescer requestCoalescer = requestSettings.getRequestCoalescer();
+        if (requestCoalescer == null) {
+            return executeRequestAsync(requestSettings, mapper);
+        }
+        return requestCoalescer.executeAsync(getRequestKey(requestSettings, mapper), requestSettings.getTimeoutSettings().getTotalTimeout(),
+                () -> executeRequestAsync(requestSettings, mapper), requestSettings.getExecutor());
+    }
+
+    private static <T> CompletableFuture<T> executeRequestAsync(RequestSettings requestSettings, Function<InputStream, T> mapper) {
+        final ApiKeyPool apiKeyPool = requestSettings.getApiKeyPool();
+        if (apiKeyPool == null) {
+            return executeRequestAsync(requestSettings, null, mapper);
+        }
 
+        final String endpoint = requestSettings.getUrlAppender().toString();
+        final ApiKey apiKey;
         try {
-            HttpURLConnection connection = (HttpURLConnection) requestUrl.openConnection();
+            apiKey = apiKeyPool.acquire(requestSettings.getRequiredPlan(), endpoint);
+        } catch (RuntimeException ex) {
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(ex);
+            return result;
+        }
+        final CompletableFuture<T> result = executeRequestAsync(requestSettings, apiKey, mapper);
+        // the result itself is returned, so its cancellation still reaches the request
+        result.whenComplete((value, throwable) -> apiKeyPool.release(apiKey, endpoint, throwable instanceof RuntimeException ? (RuntimeException) throwable : null));
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> executeRequestAsync(RequestSettings requestSettings, ApiKey apiKey, Function<InputStream, T> mapper) {
+        final TransportRequest request = createRequest(requestSettings, apiKey);
+        final RevalidationCache revalidationCache = requestSettings.getRevalidationCache();
+        if (revalidationCache == null) {
+            return getResponseAsync(request, requestSettings.getTransport(), requestSettings.getExecutor(), mapper);
+        }
+        final String key = getRequestKey(requestSettings, mapper);
+        final RevalidationCache.Entry previous = prepareConditionalRequest(revalidationCache, key, request);
+        return executeAsync(request, requestSettings.getTransport(), requestSettings.getExecutor(),
+                response -> mapRevalidatedResponse(revalidationCache, key, previous, response, mapper));
+    }
 
-            if (timeoutSettings.getConnectionTimeout() != null) {
-                connection.setConnectTimeout(timeoutSettings.getConnectionTimeout());
+    /**
+     * Executes provided request using the transport asynchronously and passes response body stream to the mapper.
+     *
+     * @param request the request to execute.
+     * @param transport the transport to execute request with.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return future of the mapped result.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(TransportRequest request, HttpTransport transport, Function<InputStream, T> mapper) {
+        return getResponseAsync(request, transport, ForkJoinPool.commonPool(), mapper);
+    }
+
+    /**
+     * Executes provided request using the transport asynchronously and passes response body stream to the mapper.
+     * Blocking transports execute the request in the provided executor, mapping is always done there.
+     *
+     * @param request the request to execute.
+     * @param transport the transport to execute request with.
+     * @param executor the executor to run blocking work in.
+     * @param mapper function to convert response body into the result. The stream is closed after mapping.
+     * @param <T> result type.
+     * @return future of the mapped result.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(TransportRequest request, HttpTransport transport, Executor executor, Function<InputStream, T> mapper) {
+        return executeAsync(request, transport, executor, response -> mapResponse(response, mapper));
+    }
+
+    private static <T> CompletableFuture<T> executeAsync(TransportRequest request, HttpTransport transport, Executor executor, Function<TransportResponse, T> responseMapper) {
+        logger.debug("Executing OpenWeatherMap API request asynchronously: " + request.getUrl());
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        transport.executeAsync(request, executor).whenCompleteAsync((response, throwable) -> {
+            if (result.isDone()) {
+                // the caller has cancelled the result or it has expired, so there is no need in mapping
+                if (response != null) {
+                    closeQuietly(response);
+                }
+                return;
+            }
+            if (throwable != null) {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                if (cause instanceof IOException) {
+                    logger.error("An error occurred during OpenWeatherMap API request execution: ", cause);
+                    result.completeExceptionally(new NoDataFoundException(cause));
+                } else {
+                    result.completeExceptionally(cause);
+                }
+                return;
             }
+            try {
+                result.complete(responseMapper.apply(response));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        }, executor);
 
-            if (timeoutSettings.getReadTimeout() != null) {
-                connection.setReadTimeout(timeoutSettings.getReadTimeout());
+        if (request.hasDeadline()) {
+            // the result is completed in the executor, so dependent stages of the caller don't run in the scheduler thread
+            final ScheduledFuture<?> deadlineTimer = SharedScheduler.schedule(() -> result.completeExceptionally(deadlineExceeded(request, null)),
+                    request.getRemainingTime(), executor);
+            result.whenComplete((value, throwable) -> deadlineTimer.cancel(false));
+        }
+
+        // cancellation or timeout of the result, e.g. with orTimeout(), aborts the request and closes its connection
+        result.whenComplete((value, throwable) -> {
+            if (throwable instanceof CancellationException || throwable instanceof TimeoutException || throwable instanceof DeadlineExceededException) {
+                request.abort();
             }
+        });
+        return result;
+    }
 
-            connection.setRequestMethod("GET");
+    /**
+     * Prepares everything the first request needs: loads and initializes response mappers, resolves API host
+     * and opens connections to both 2.5 and 3.0 API versions. Requests are sent without API key, so quota isn't spent.
+     * Failures are logged and ignored, the first request will just take longer.
+     *
+     * @param transport the transport to open connections with.
+     * @param timeoutSettings timeout settings of the warm-up requests.
+     */
+    public static void warmUp(HttpTransport transport, TimeoutSettings timeoutSettings) {
+        preloadMappers();
+        resolveHost();
+        openConnection(transport, OWM_URL_BASE, timeoutSettings);
+        openConnection(transport, OWM_URL_BASE_3_0, timeoutSettings);
+    }
 
-            switch (connection.getResponseCode()) {
-                case HttpURLConnection.HTTP_OK:
-                    resultStream = connection.getInputStream();
-                    break;
-                case HttpURLConnection.HTTP_UNAUTHORIZED:
-                    throw new InvalidAuthTokenException();
-                case HttpURLConnection.HTTP_NOT_FOUND:
-                case HttpURLConnection.HTTP_BAD_REQUEST:
-                    throw new NoDataFoundException();
-                default:
-                    throw new IllegalStateException("Unexpected value: " + connection.getResponseCode());
+    /**
+     * Does the same as {@link #warmUp(HttpTransport, TimeoutSettings)} in the executor. Mappers are initialized in parallel
+     * with the network warm-up, connections to both API versions are opened simultaneously.
+     *
+     * @param transport the transport to open connections with.
+     * @param executor the executor to run blocking work in.
+     * @param timeoutSettings timeout settings of the warm-up requests.
+     * @return future that is completed once warm-up is finished, it never fails.
+     */
+    public static CompletableFuture<Void> warmUpAsync(HttpTransport transport, Executor executor, TimeoutSettings timeoutSettings) {
+        final CompletableFuture<Void> mappers = CompletableFuture.runAsync(RequestUtils::preloadMappers, executor);
+        final CompletableFuture<Void> connections = CompletableFuture.runAsync(RequestUtils::resolveHost, executor)
+                .thenCompose(ignored -> CompletableFuture.allOf(
+                        openConnectionAsync(transport, executor, OWM_URL_BASE, timeoutSettings),
+                        openConnectionAsync(transport, executor, OWM_URL_BASE_3_0, timeoutSettings)));
+        return CompletableFuture.allOf(mappers, connections).handle((ignored, throwable) -> {
+            if (throwable != null) {
+                logger.warn("OpenWeatherMap client warm-up failed: ", throwable);
+            }
+            return null;
+        });
+    }
+
+    private static void preloadMappers() {
+        final byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        final List<Runnable> mappings = Arrays.asList(
+                () -> new CurrentWeatherResponseMapper(UnitSystem.STANDARD).getSingle(json),
+                () -> new CurrentWeatherResponseMapper(UnitSystem.STANDARD).getList(json),
+                () -> new FiveDayThreeHourStepForecastResponseMapper(UnitSystem.STANDARD).mapToForecast(json),
+                () -> new OneCallWeatherResponseMapper(UnitSystem.STANDARD).mapToCurrent(json),
+                () -> new OneCallWeatherResponseMapper(UnitSystem.STANDARD).mapToHistorical(json),
+                () -> new AirPollutionResponseMapper().mapToAirPollution(json)
+        );
+        for (Runnable mapping : mappings) {
+            try {
+                mapping.run();
+            } catch (RuntimeException ignored) {
+                // empty response is incomplete, the point is to load classes and initialize the JSON parser
             }
-        } catch (IllegalStateException | IOException ex) {
-            logger.error("An error occurred during OpenWeatherMap API response parsing: ", ex);
-            throw new NoDataFoundException(ex);
         }
+    }
+
+    private static void resolveHost() {
+        try {
+            InetAddress.getAllByName(new URL(OWM_URL_BASE).getHost());
+        } catch (IOException ex) {
+            logger.warn("Cannot resolve OpenWeatherMap API host: ", ex);
+        }
+    }
+
+    private static void openConnection(HttpTransport transport, String baseUrl, TimeoutSettings timeoutSettings) {
+        try {
+            closeQuietly(transport.execute(new TransportRequest(baseUrl + "weather", timeoutSettings)));
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Cannot open connection to " + baseUrl + ": ", ex);
+        }
+    }
+
+    private static CompletableFuture<Void> openConnectionAsync(HttpTransport transport, Executor executor, String baseUrl, TimeoutSettings timeoutSettings) {
+        return transport.executeAsync(new TransportRequest(baseUrl + "weather", timeoutSettings), executor).handle((response, throwable) -> {
+            if (response != null) {
+                // the body is drained on close, so the connection goes back to the pool
+                closeQuietly(response);
+            } else {
+                logger.warn("Cannot open connection to " + baseUrl + ": ", throwable);
+            }
+            return null;
+        });
+    }
+
+    private static DeadlineExceededException deadlineExceeded(TransportRequest request, Throwable cause) {
+        return new DeadlineExceededException("Request deadline of " + request.getTimeoutSettings().getTotalTimeout() + " ms exceeded.", cause);
+    }
+
+    private static boolean hasIOExceptionCause(Throwable throwable) {
+        for (Throwable cause = throwable.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Canonical request with result type or mapper class, so calls expecting different result types are not mixed in coalescing and caches.
+     * State captured by the mapper, e.g. unit system, is reflected in the request parameters.
+     */
+    private static String getRequestKey(RequestSettings requestSettings, Function<InputStream, ?> mapper) {
+        return getRequestKey(getCanonicalRequest(requestSettings), mapper);
+    }
 
-        return resultStream;
+    private static String getRequestKey(String canonicalRequest, Function<InputStream, ?> mapper) {
+        final Function<InputStream, ?> requestMapper = mapper instanceof ResponseCache.PersistingMapper ? ((ResponseCache.PersistingMapper<?>) mapper).getMapper() : mapper;
+        return canonicalRequest + '#' + (requestMapper instanceof ResultMapper ? ((ResultMapper<?>) requestMapper).resultType : requestMapper.getClass().getName());
+    }
+
+    /**
+     * Canonical request: API version, URL appender and sorted parameters except API key. It identifies raw response,
+     * so unlike the request key it is stable between application runs.
+     */
+    private static String getCanonicalRequest(RequestSettings requestSettings) {
+        final StringBuilder keyBuilder = new StringBuilder(requestSettings.getUseApi3() ? OWM_URL_BASE_3_0 : OWM_URL_BASE);
+        keyBuilder.append(requestSettings.getUrlAppender());
+        keyBuilder.append('?');
+        keyBuilder.append(requestSettings.getRequestParameters().entrySet().stream()
+                .filter(entry -> !API_KEY_PARAM_NAME.equals(entry.getKey()))
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&")));
+        return keyBuilder.toString();
+    }
+
+    private static TransportRequest createRequest(RequestSettings requestSettings, ApiKey apiKey) {
+        StringBuilder requestUrlBuilder = new StringBuilder(OWM_URL_BASE);
+        if(requestSettings.getUseApi3()) {
+            requestUrlBuilder = new StringBuilder(OWM_URL_BASE_3_0);
+        }
+        requestUrlBuilder.append(requestSettings.getUrlAppender());
+        requestUrlBuilder.append('?');
+        String parameters = requestSettings.getRequestParameters().entrySet().stream()
+                .map(entry -> {
+                    try {
+                        return entry.getKey() + "=" + URLEncoder.encode(entry.getValue(), "UTF-8");
+                    } catch (UnsupportedEncodingException e) {
+                        throw new RuntimeException(e);
+                    }
+                })
+                .collect(Collectors.joining("&"));
+        requestUrlBuilder.append(parameters);
+        if (apiKey != null) {
+            if (!parameters.isEmpty()) {
+                requestUrlBuilder.append('&');
+            }
+            try {
+                requestUrlBuilder.append("appid=").append(URLEncoder.encode(apiKey.getValue(), "UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        final TransportRequest request = new TransportRequest(requestUrlBuilder.toString(), requestSettings.getUrlAppender().toString(),
+                requestSettings.getTimeoutSettings());
+        if (apiKey != null) {
+            // retries and hedged duplicates are calls of the key too
+            final ApiKeyPool apiKeyPool = requestSettings.getApiKeyPool();
+            request.onResend(() -> apiKeyPool.charge(apiKey));
+        }
+        return request;
+    }
+
+    private static RevalidationCache.Entry prepareConditionalRequest(RevalidationCache revalidationCache, String key, TransportRequest request) {
+        final RevalidationCache.Entry previous = revalidationCache.get(key);
+        if (previous != null) {
+            if (previous.getEtag() != null) {
+                request.putHeader("If-None-Match", previous.getEtag());
+            }
+            if (previous.getLastModified() != null) {
+                request.putHeader("If-Modified-Since", previous.getLastModified());
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Reuses previously mapped result if the response says that it wasn't modified or has the same content.
+     * The response stored in the disk tier is marked as fetched now in that case.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T mapRevalidatedResponse(RevalidationCache revalidationCache, String key, RevalidationCache.Entry previous,
+                                                TransportResponse response, Function<InputStream, T> mapper) {
+        if (response.getStatusCode() == HttpURLConnection.HTTP_NOT_MODIFIED && previous != null) {
+            closeQuietly(response);
+            revalidationCache.recordNotModified();
+            revalidatePersisted(mapper, null);
+            return (T) previous.getValue();
+        }
+        if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+            return mapResponse(response, mapper);
+        }
+
+        final String etag = response.getHeader("ETag");
+        final String lastModified = response.getHeader("Last-Modified");
+        if (etag != null || lastModified != null) {
+            final T value = mapResponse(response, mapper);
+            revalidationCache.put(key, new RevalidationCache.Entry(etag, lastModified, null, value));
+            return value;
+        }
+
+        final byte[] body;
+        try (InputStream inputStream = response.getBody()) {
+            body = readAllBytes(inputStream);
+        } catch (IOException ex) {
+            logger.error("Error during response reading: ", ex);
+            throw new IllegalArgumentException(ex);
+        }
+        final byte[] contentHash = hash(body);
+        if (previous != null && Arrays.equals(previous.getContentHash(), contentHash)) {
+            revalidationCache.recordUnchanged();
+            revalidatePersisted(mapper, body);
+            return (T) previous.getValue();
+        }
+        final T value = mapper.apply(new ByteArrayInputStream(body));
+        revalidationCache.put(key, new RevalidationCache.Entry(null, null, contentHash, value));
+        return value;
+    }
+
+    private static void revalidatePersisted(Function<InputStream, ?> mapper, byte[] body) {
+        if (mapper instanceof ResponseCache.PersistingMapper) {
+            ((ResponseCache.PersistingMapper<?>) mapper).revalidated(body);
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static <T> T mapResponse(TransportResponse response, Function<InputStream, T> mapper) {
+        try (InputStream inputStream = getResponseBody(response)) {
+            return mapper.apply(inputStream);
+        } catch (IOException ex) {
+            logger.error("Error during response reading: ", ex);
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * Checks response status and retrieves response body as an <code>InputStream</code> instance.
+     *
+     * @param response response to check.
+     * @return <code>InputStream</code> instance containing http response body.
+     * @throws InvalidAuthTokenException in case if authentication token wasn't set or requested functionality is not permitted for its subscription plan.
+     * @throws LocationNotFoundException in case if there is no any data for requested location(s) or request is invalid.
+     * @throws NoDataFoundException in case if the response status is unexpected.
+     * @throws TooManyRequestsException in case if calls limit is exceeded.
+     * @throws ServerErrorException in case if OpenWeatherMap service failed to process the request.
+     */
+    private static InputStream getResponseBody(TransportResponse response) {
+        switch (response.getStatusCode()) {
+            case HttpURLConnection.HTTP_OK:
+                return response.getBody();
+            case HttpURLConnection.HTTP_UNAUTHORIZED:
+                closeQuietly(response);
+                throw new InvalidAuthTokenException();
+            case HttpURLConnection.HTTP_NOT_FOUND:
+            case HttpURLConnection.HTTP_BAD_REQUEST:
+                closeQuietly(response);
+                throw new LocationNotFoundException(response.getStatusCode());
+            case 429:
+                closeQuietly(response);
+                throw new TooManyRequestsException(response.getRetryAfter());
+            default:
+                closeQuietly(response);
+                if (response.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                    throw new ServerErrorException(response.getStatusCode());
+                }
+                final IllegalStateException ex = new IllegalStateException("Unexpected value: " + response.getStatusCode());
+                logger.error("An error occurred during OpenWeatherMap API response parsing: ", ex);
+                throw new NoDataFoundException(ex);
+        }
+    }
+
+    private static void closeQuietly(TransportResponse response) {
+        try {
+            response.close();
+        } catch (IOException ex) {
+            logger.debug("Cannot close response: ", ex);
+        }
     }
 
     /**
@@ -170,4 +803,22 @@ public final class RequestUtils {
 
         return result.toString();
     }
+
+    /**
+     * Mapper with the identifier of its result type.
+     */
+    private static class ResultMapper<T> implements Function<InputStream, T> {
+        private final String resultType;
+        private final Function<InputStream, T> mapper;
+
+        ResultMapper(String resultType, Function<InputStream, T> mapper) {
+            this.resultType = resultType;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public T apply(InputStream inputStream) {
+            return mapper.apply(inputStream);
+        }
+    }
 }
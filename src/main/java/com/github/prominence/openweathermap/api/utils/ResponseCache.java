@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import com.github.prominence.openweathermap.api.conf.ResponseCacheSettings;
+import com.github.prominence.openweathermap.api.exception.LocationNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of the mapped results keyed by canonical request. Cache hits skip both network and mapping.
+ * Result objects are shared between the callers, so they must not be modified.
+ * Stale results within the stale-while-revalidate period are returned as is and refreshed in background, one refresh per key.
+ * Requests for unknown locations are cached as negative entries for the negative TTL.
+ * With the disk tier enabled raw responses are stored on disk too and results missing in memory are mapped from them,
+ * e.g. after restart.
+ */
+public class ResponseCache implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final ResponseCacheSettings settings;
+    private final DiskCache diskCache;
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Instantiates a new cache.
+     *
+     * @param settings cache settings, copied.
+     * @throws IllegalArgumentException in case if the disk tier cannot be opened in the configured directory.
+     */
+    public ResponseCache(ResponseCacheSettings settings) {
+        this.settings = new ResponseCacheSettings(settings);
+        final int maxEntries = this.settings.getMaxEntries();
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseCache.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        try {
+            this.diskCache = this.settings.getDiskCacheSettings() != null ? openDiskCache(this.settings.getDiskCacheSettings()) : null;
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Cannot open disk cache in " + this.settings.getDiskCacheSettings().getDirectory(), ex);
+        }
+    }
+
+    private static DiskCache openDiskCache(DiskCacheSettings diskCacheSettings) throws IOException {
+        try {
+            return new DiskCache(diskCacheSettings);
+        } catch (DiskCache.DirectoryLockedException ex) {
+            logger.warn(ex.getMessage() + ", responses are cached in memory only.");
+            return null;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return true if responses are stored on disk too, false if there are no disk cache settings or the directory is locked.
+     */
+    public boolean hasDiskTier() {
+        return diskCache != null;
+    }
+
+    /**
+     * Removes all results from memory and disk.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        if (diskCache != null) {
+            try {
+                diskCache.clear();
+            } catch (IOException ex) {
+                logger.warn("Cannot clear disk cache: ", ex);
+            }
+        }
+    }
+
+    /**
+     * Saves the index of the disk tier, so it is restored without scanning on the next start. The cache stays usable in memory.
+     */
+    @Override
+    public void close() {
+        if (diskCache != null) {
+            try {
+                diskCache.close();
+            } catch (IOException ex) {
+                logger.warn("Cannot save disk cache index: ", ex);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of the hits that returned stale result, they are counted as hits as well.
+     */
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    /**
+     * @return number of the hits that failed with cached {@link LocationNotFoundException}, they are counted as hits as well.
+     */
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    /**
+     * @return number of the memory misses served from the disk tier.
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * @return number of the started background refreshes.
+     */
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    /**
+     * @param endpoint endpoint, e.g. <code>weather</code>.
+     * @return true if results of the endpoint are cached.
+     */
+    boolean isCacheable(String endpoint) {
+        return settings.getTtl(endpoint) > 0;
+    }
+
+    /**
+     * @param key canonical request.
+     * @return fresh or stale entry, null if there is no one or it is beyond the stale-while-revalidate period.
+     */
+    synchronized Entry get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired()) {
+            entries.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        (entry != null ? hits : misses).incrementAndGet();
+        if (entry != null && entry.isNegative()) {
+            negativeHits.incrementAndGet();
+        } else if (entry != null && entry.isStale()) {
+            staleHits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    synchronized void put(String key, String endpoint, Object value) {
+        put(key, endpoint, value, System.currentTimeMillis());
+    }
+
+    private synchronized Entry put(String key, String endpoint, Object value, long fetchedAt) {
+        final long age = System.currentTimeMillis() - fetchedAt;
+        final long staleAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getTtl(endpoint) - age);
+        final Entry entry = new Entry(value, staleAt, staleAt + TimeUnit.MILLISECONDS.toNanos(settings.getStaleWhileRevalidate()));
+        entries.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Maps the response stored in the disk tier and puts the result to memory with the remaining TTL.
+     *
+     * @param key canonical request with mapper.
+     * @param diskKey canonical request.
+     * @param endpoint endpoint, e.g. <code>weather</code>.
+     * @param mapper function to convert response body into the result.
+     * @return entry or null if there is no stored response or it cannot be mapped.
+     */
+    Entry load(String key, String diskKey, String endpoint, Function<InputStream, ?> mapper) {
+        // expired record is kept, the response may still be revalidated
+        final DiskCache.Record record = diskCache != null ? diskCache.peek(diskKey) : null;
+        if (record == null || record.getFetchedAt() + settings.getTtl(endpoint) + settings.getStaleWhileRevalidate() <= System.currentTimeMillis()) {
+            return null;
+        }
+        final Object value;
+        try {
+            value = mapper.apply(new ByteArrayInputStream(record.getBody()));
+        } catch (RuntimeException ex) {
+            logger.warn("Cannot map response stored on disk: ", ex);
+            return null;
+        }
+        diskHits.incrementAndGet();
+        return put(key, endpoint, value, record.getFetchedAt());
+    }
+
+    /**
+     * @param diskKey canonical request.
+     * @param endpoint endpoint, e.g. <code>weather</code>.
+     * @param mapper function to convert response body into the result.
+     * @return mapper that stores the response in the disk tier after successful mapping, or the passed mapper if the disk tier is disabled.
+     */
+    <T> Function<InputStream, T> persisting(String diskKey, String endpoint, Function<InputStream, T> mapper) {
+        return diskCache != null ? new PersistingMapper<>(diskKey, endpoint, mapper) : mapper;
+    }
+
+    synchronized void putNotFound(String key, LocationNotFoundException exception) {
+        if (settings.getNegativeTtl() <= 0) {
+            return;
+        }
+        final long expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getNegativeTtl());
+        entries.put(key, new Entry(exception, expiresAt, expiresAt));
+    }
+
+    /**
+     * Marks the key as being refreshed.
+     *
+     * @param key canonical request.
+     * @return true if the caller must refresh the entry, false if it is already being refreshed.
+     */
+    boolean startRefresh(String key) {
+        if (!refreshingKeys.add(key)) {
+            return false;
+        }
+        refreshes.incrementAndGet();
+        return true;
+    }
+
+    void finishRefresh(String key) {
+        refreshingKeys.remove(key);
+    }
+
+    /**
+     * Mapper that stores raw response in the disk tier. Request keys are built from the wrapped mapper.
+     */
+    class PersistingMapper<T> implements Function<InputStream, T> {
+        private final String diskKey;
+        private final String endpoint;
+        private final Function<InputStream, T> mapper;
+
+        PersistingMapper(String diskKey, String endpoint, Function<InputStream, T> mapper) {
+            this.diskKey = diskKey;
+            this.endpoint = endpoint;
+            this.mapper = mapper;
+        }
+
+        Function<InputStream, T> getMapper() {
+            return mapper;
+        }
+
+        @Override
+        public T apply(InputStream inputStream) {
+            final long fetchedAt = System.currentTimeMillis();
+            final byte[] body;
+            try {
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+                body = outputStream.toByteArray();
+            } catch (IOException ex) {
+                logger.error("Error during response reading: ", ex);
+                throw new IllegalArgumentException(ex);
+            }
+            final T value = mapper.apply(new ByteArrayInputStream(body));
+            store(fetchedAt, body);
+            return value;
+        }
+
+        /**
+         * Stores the response again with the current time when it is revalidated without mapping,
+         * otherwise the stored response would be considered expired after restart.
+         *
+         * @param body response body or null to keep the stored one, e.g. for <code>304</code> response.
+         */
+        void revalidated(byte[] body) {
+            final long fetchedAt = System.currentTimeMillis();
+            if (body == null) {
+                final DiskCache.Record record = diskCache.peek(diskKey);
+                if (record == null) {
+                    return;
+                }
+                body = record.getBody();
+            }
+            store(fetchedAt, body);
+        }
+
+        private void store(long fetchedAt, byte[] body) {
+            try {
+                diskCache.put(diskKey, fetchedAt, settings.getTtl(endpoint) + settings.getStaleWhileRevalidate(), body);
+            } catch (IOException ex) {
+                logger.warn("Cannot store response on disk: ", ex);
+            }
+        }
+    }
+
+    /**
+     * Cached result or {@link LocationNotFoundException} for negative entry, the time it becomes stale and the time it expires.
+     */
+    static class Entry {
+        private final Object value;
+        private final long staleAt;
+        private final long expiresAt;
+
+        Entry(Object value, long staleAt, long expiresAt) {
+            this.value = value;
+            this.staleAt = staleAt;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isNegative() {
+            return value instanceof LocationNotFoundException;
+        }
+
+        /**
+         * @return cached result.
+         * @throws LocationNotFoundException new exception with the cached status code if the entry is negative.
+         */
+        Object getResult() {
+            if (isNegative()) {
+                throw new LocationNotFoundException(((LocationNotFoundException) value).getStatusCode());
+            }
+            return value;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - staleAt >= 0;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps validators and mapped results of the latest responses, so repeated requests are sent conditionally
+ * with <code>If-None-Match</code>/<code>If-Modified-Since</code> headers and the mapped result is reused on <code>304</code>.
+ * When the service sends no validators, responses are compared by content hash and unchanged ones are not mapped again.
+ * Result objects are shared between the callers, so they must not be modified.
+ */
+public class RevalidationCache {
+    private final Map<String, Entry> entries;
+    private final AtomicLong notModifiedResponses = new AtomicLong();
+    private final AtomicLong unchangedResponses = new AtomicLong();
+
+    public RevalidationCache() {
+        this(1000);
+    }
+
+    /**
+     * Instantiates a new cache.
+     *
+     * @param maxEntries maximum number of the requests to keep results of, the least recently used ones are evicted.
+     */
+    public RevalidationCache(int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RevalidationCache.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return number of <code>304</code> responses served with the previously mapped results.
+     */
+    public long getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    /**
+     * @return number of responses without validators that had the same content as the previous ones and weren't mapped again.
+     */
+    public long getUnchangedResponses() {
+        return unchangedResponses.get();
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    void recordNotModified() {
+        notModifiedResponses.incrementAndGet();
+    }
+
+    void recordUnchanged() {
+        unchangedResponses.incrementAndGet();
+    }
+
+    /**
+     * Validators of the response and its mapped result.
+     */
+    static class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final byte[] contentHash;
+        private final Object value;
+
+        Entry(String etag, String lastModified, byte[] contentHash, Object value) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.value = value;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        byte[] getContentHash() {
+            return contentHash;
+        }
+
+        Object getValue() {
+            return value;
+        }
+    }
+}
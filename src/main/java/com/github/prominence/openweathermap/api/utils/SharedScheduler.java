@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single daemon thread used by the library to trigger delayed actions, e.g. deadlines.
+ * Scheduled actions must be short and must not block, heavy work has to be passed to another executor.
+ */
+public final class SharedScheduler {
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    private SharedScheduler() {
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "openweathermap-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // most of the actions are deadlines that are cancelled once request is completed,
+        // they must not keep the requests they capture in the queue until their delay is over
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Schedules the action.
+     *
+     * @param action action to execute.
+     * @param delay delay in milliseconds.
+     * @return future that can be used to cancel the action.
+     */
+    public static ScheduledFuture<?> schedule(Runnable action, long delay) {
+        return scheduler.schedule(action, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules the action to be run in the executor, so it may call transports or complete futures with dependent stages
+     * of the callers. If the executor rejects the action, it is run in the scheduler thread, so it is never lost.
+     *
+     * @param action action to execute.
+     * @param delay delay in milliseconds.
+     * @param executor executor to run the action in.
+     * @return future that can be used to cancel the action before it is passed to the executor.
+     */
+    public static ScheduledFuture<?> schedule(Runnable action, long delay, Executor executor) {
+        return schedule(() -> {
+            try {
+                executor.execute(action);
+            } catch (RejectedExecutionException ex) {
+                action.run();
+            }
+        }, delay);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.BulkheadSettings;
+import com.github.prominence.openweathermap.api.transport.Bulkhead;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor that runs every task on its own virtual thread. Requires Java 21 or higher: virtual threads are looked up
+ * at runtime, so the library stays compatible with Java 8.
+ * Tasks aren't limited, but the client that uses the executor caps number of simultaneously executed requests with
+ * {@link #getRequestLimit()} to protect API quota. Requests over the cap wait for a slot without blocking any platform thread,
+ * so it is fine to submit blocking tasks for tens of thousands of locations at once, even if they wait for asynchronous requests.
+ */
+public class VirtualThreadExecutor implements Executor {
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    private final Bulkhead requestLimit;
+
+    /**
+     * Instantiates a new executor.
+     *
+     * @param maxConcurrentRequests maximum number of simultaneously executed requests of the client using the executor.
+     * @throws UnsupportedOperationException when running on Java older than 21.
+     */
+    public VirtualThreadExecutor(int maxConcurrentRequests) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or higher.");
+        }
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("Max concurrent requests must be positive.");
+        }
+        this.requestLimit = new Bulkhead("virtual threads", new BulkheadSettings(maxConcurrentRequests, Integer.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * @return true if current Java runtime supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return requestLimit.getMaxConcurrentCalls();
+    }
+
+    /**
+     * @return limit of the simultaneously executed requests to observe running and waiting requests.
+     */
+    public Bulkhead getRequestLimit() {
+        return requestLimit;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        VIRTUAL_THREAD_FACTORY.newThread(command).start();
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "openweathermap-virtual-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // Java older than 21 or virtual threads are a disabled preview feature
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link HttpTransport} implementation based on {@link HttpClient}. Requires Java 11 or higher.
+ * By default, it negotiates HTTP/2, so concurrent requests of all the requesters are multiplexed over a single connection per host.
+ * Connection timeout is a property of the {@link HttpClient} itself, so only read timeout is taken from request settings.
+ */
+public class HttpClientTransport implements HttpTransport {
+    private final HttpClient httpClient;
+
+    /**
+     * Instantiates a new transport with the default HTTP/2 client configuration.
+     */
+    public HttpClientTransport() {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(new TimeoutSettings().getConnectionTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build());
+    }
+
+    /**
+     * Instantiates a new transport with the provided {@link HttpClient}.
+     *
+     * @param httpClient preconfigured client.
+     */
+    public HttpClientTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        if (request.isAborted()) {
+            throw new InterruptedIOException("Request was aborted: " + request.getUrl());
+        }
+        try {
+            final HttpResponse<InputStream> response = httpClient.send(createRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+            request.onAbort(() -> closeQuietly(response.body()));
+            return new TransportResponse(response.statusCode(), response.headers().map(), response.body());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(ex.getMessage());
+        }
+    }
+
+    /**
+     * Executes request with non-blocking I/O. The body is collected asynchronously, so the returned future is completed
+     * only when the whole response is received and no thread is blocked while waiting for it.
+     * Network I/O is done by the executor of the {@link HttpClient} itself.
+     *
+     * @param request request to execute.
+     * @param executor not used.
+     * @return future of the response.
+     */
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+        if (request.isAborted()) {
+            return CompletableFuture.failedFuture(new InterruptedIOException("Request was aborted: " + request.getUrl()));
+        }
+        final CompletableFuture<HttpResponse<byte[]>> response = httpClient.sendAsync(createRequest(request), HttpResponse.BodyHandlers.ofByteArray());
+        // cancellation of the future aborts the exchange since Java 16
+        request.onAbort(() -> response.cancel(true));
+        return response.thenApply(result -> new TransportResponse(result.statusCode(), result.headers().map(), new ByteArrayInputStream(result.body())));
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+            // the request is aborted anyway
+        }
+    }
+
+    private HttpRequest createRequest(TransportRequest request) {
+        final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(URI.create(request.getUrl())).GET();
+
+        final TimeoutSettings timeoutSettings = request.getTimeoutSettings();
+        final Integer timeout = request.capTimeout(timeoutSettings != null ? timeoutSettings.getReadTimeout() : null);
+        if (timeout != null) {
+            requestBuilder.timeout(Duration.ofMillis(timeout));
+        }
+        request.getHeaders().forEach(requestBuilder::header);
+
+        return requestBuilder.build();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.key;
+
+import com.github.prominence.openweathermap.api.conf.RateLimitSettings;
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.exception.TooManyRequestsException;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.RetryingTransport;
+import com.github.prominence.openweathermap.api.transport.TransportResponse;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApiKeyPoolUnitTest {
+    @Test
+    public void whenPlanIsRequired_thenSelectKeyWithThePlan() {
+        final ApiKey freeKey = new ApiKey("free", SubscriptionPlan.FREE);
+        final ApiKey specialKey = new ApiKey("special", SubscriptionPlan.DEVELOPER, SubscriptionPlan.SPECIAL);
+        final ApiKeyPool apiKeyPool = new ApiKeyPool(freeKey, specialKey);
+
+        for (int i = 0; i < 5; i++) {
+            assertSame(specialKey, apiKeyPool.acquire(SubscriptionPlan.SPECIAL));
+        }
+        assertThrows(InvalidAuthTokenException.class, () -> apiKeyPool.acquire(SubscriptionPlan.ENTERPRISE));
+    }
+
+    @Test
+    public void whenKeyQuotaIsReached_thenSelectAnotherKey() {
+        final ApiKey firstKey = new ApiKey("first", new RateLimitSettings(2, 1000, true, 0));
+        final ApiKey secondKey = new ApiKey("second", new RateLimitSettings(1, 1000, true, 0));
+        final ApiKeyPool apiKeyPool = new ApiKeyPool(firstKey, secondKey);
+
+        for (int i = 0; i < 3; i++) {
+            apiKeyPool.acquire(null);
+        }
+        assertEquals(2, firstKey.getRequests());
+        assertEquals(1, secondKey.getRequests());
+        assertThrows(RateLimitExceededException.class, () -> apiKeyPool.acquire(null));
+    }
+
+    @Test
+    public void whenKeyIsThrottled_thenPreferOtherKeys() {
+        final ApiKey throttledKey = new ApiKey("throttled", new RateLimitSettings(100, 1000, true, 0));
+        final ApiKey healthyKey = new ApiKey("healthy", new RateLimitSettings(100, 1000, true, 0));
+        final ApiKeyPool apiKeyPool = new ApiKeyPool(throttledKey, healthyKey);
+        for (int i = 0; i < 10; i++) {
+            apiKeyPool.release(throttledKey, new TooManyRequestsException(null));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(healthyKey, apiKeyPool.acquire(null));
+        }
+        assertTrue(throttledKey.getErrorRate() > 0.5);
+    }
+
+    @Test
+    public void whenKeyIsRejectedByEndpoint_thenUseOtherKeysForIt() {
+        final ApiKey limitedKey = new ApiKey("limited", SubscriptionPlan.FREE);
+        final ApiKey fullKey = new ApiKey("full", SubscriptionPlan.FREE);
+        final ApiKeyPool apiKeyPool = new ApiKeyPool(limitedKey, fullKey);
+        final List<String> requestedUrls = new ArrayList<>();
+        final HttpTransport transport = request -> {
+            requestedUrls.add(request.getUrl());
+            final boolean rejected = request.getUrl().contains("onecall") && request.getUrl().endsWith("appid=limited");
+            return new TransportResponse(rejected ? 401 : 200, Collections.emptyMap(), null);
+        };
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                RequestUtils.getResponse(requestSettings(apiKeyPool, transport, "onecall"));
+            } catch (InvalidAuthTokenException ex) {
+                assertEquals(Collections.singleton("onecall"), limitedKey.getRejectedEndpoints());
+            }
+        }
+        assertFalse(limitedKey.isBlacklisted());
+        assertEquals(1, limitedKey.getRequests());
+        assertTrue(requestedUrls.get(requestedUrls.size() - 1).endsWith("appid=full"));
+
+        for (int i = 0; i < 4; i++) {
+            RequestUtils.getResponse(requestSettings(apiKeyPool, transport, "weather"));
+        }
+        assertTrue(limitedKey.getRequests() > 1);
+    }
+
+    @Test
+    public void whenKeyIsRejectedBySeveralEndpoints_thenBlacklistIt() {
+        final ApiKey invalidKey = new ApiKey("invalid", SubscriptionPlan.FREE);
+        final ApiKey validKey = new ApiKey("valid", SubscriptionPlan.FREE);
+        final ApiKeyPool apiKeyPool = new ApiKeyPool(invalidKey, validKey);
+        final List<String> requestedUrls = new ArrayList<>();
+        final HttpTransport transport = request -> {
+            requestedUrls.add(request.getUrl());
+            return new TransportResponse(request.getUrl().endsWith("appid=invalid") ? 401 : 200, Collections.emptyMap(), null);
+        };
+
+        for (String endpoint : Arrays.asList("weather", "forecast", "find")) {
+            for (int i = 0; i < 4; i++) {
+                try {
+                    RequestUtils.getResponse(requestSettings(apiKeyPool, transport, endpoint));
+                } catch (InvalidAuthTokenException ex) {
+                    assertTrue(invalidKey.getRejectedEndpoints().contains(endpoint));
+                }
+            }
+        }
+        assertTrue(invalidKey.isBlacklisted());
+        assertFalse(validKey.isBlacklisted());
+        assertEquals(3, invalidKey.getRequests());
+        assertEquals("https://api.openweathermap.org/data/2.5/find?q=London&appid=valid", requestedUrls.get(requestedUrls.size() - 1));
+        assertFalse(invalidKey.toString().contains("invalid"));
+    }
+
+    @Test
+    public void whenRequestIsRetried_thenChargeEveryCall() {
+        final ApiKey apiKey = new ApiKey("key", new RateLimitSettings(10, 1000, true, 0));
+        final ApiKeyPool apiKeyPool = new ApiKeyPool(apiKey);
+        final Iterator<Integer> statusCodes = Arrays.asList(503, 503, 200).iterator();
+        final HttpTransport transport = new RetryingTransport(request -> new TransportResponse(statusCodes.next(), Collections.emptyMap(), null),
+                new RetrySettings(3, 1, 10, 2, 0.5));
+
+        RequestUtils.getResponse(requestSettings(apiKeyPool, transport, "weather"));
+
+        assertEquals(3, apiKey.getRequests());
+        assertEquals(7, apiKey.getQuota().getAvailableMinutePermits());
+    }
+
+    private static RequestSettings requestSettings(ApiKeyPool apiKeyPool, HttpTransport transport, String endpoint) {
+        final RequestSettings requestSettings = new RequestSettings(apiKeyPool, new TimeoutSettings(), transport, ForkJoinPool.commonPool());
+        requestSettings.appendToURL(endpoint);
+        requestSettings.putRequestParameter("q", "London");
+        return requestSettings;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.AdaptiveConcurrencySettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterUnitTest {
+    @Test
+    public void whenLatencyIsFlat_thenGrowLimit() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencySettings(2, 1, 5, 0.5, 2.0, 10, 1000));
+        limiter.acquire(1000);
+        limiter.acquire(1000);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(100, false);
+        }
+        assertEquals(5, limiter.getLimit());
+        assertEquals(100, limiter.getBaselineLatency());
+    }
+
+    @Test
+    public void whenLimitIsNotUsed_thenDoNotGrowIt() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencySettings(10, 1, 100, 0.5, 2.0, 10, 1000));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(100, false);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void whenThrottled_thenCutLimit() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencySettings(16, 1, 100, 0.5, 2.0, 10, 1000));
+        limiter.onSample(500, false);
+        Thread.sleep(600);
+
+        limiter.onSample(500, true);
+        assertEquals(8, limiter.getLimit());
+        // responses to the requests sent before the cut don't cut the limit again
+        limiter.onSample(500, true);
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void whenLatencyGrows_thenCutLimit() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencySettings(16, 1, 100, 0.5, 2.0, 10, 1000));
+        limiter.onSample(10, false);
+        limiter.onSample(10, false);
+        Thread.sleep(50);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onSample(40, false);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void whenLimitIsReached_thenQueueRequests() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencySettings(1, 1, 1, 0.5, 2.0, 1, 10));
+        assertTrue(limiter.acquireAsync().isDone());
+
+        final CompletableFuture<Void> waiting = limiter.acquireAsync();
+        assertFalse(waiting.isDone());
+        assertEquals(1, limiter.getQueueDepth());
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> limiter.acquireAsync().get());
+        assertInstanceOf(ConcurrencyLimitExceededException.class, exception.getCause());
+
+        limiter.release();
+        assertTrue(waiting.isDone());
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(1, limiter.getInFlightCalls());
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.acquire(1000));
+        assertEquals(2, limiter.getRejectedCalls());
+    }
+
+    @Test
+    public void whenTransportGetsThrottled_thenCutLimitAndReleasePermitOnClose() throws Exception {
+        final AdaptiveConcurrencyTransport transport = new AdaptiveConcurrencyTransport(request ->
+                new TransportResponse(429, Collections.emptyMap(), new ByteArrayInputStream(new byte[0])));
+        transport.setSettings(new AdaptiveConcurrencySettings(10, 1, 100, 0.5, 2.0, 10, 1000));
+        Thread.sleep(5);
+
+        final TransportResponse response = transport.execute(new TransportRequest("https://api.openweathermap.org/data/2.5/weather", "weather", new TimeoutSettings()));
+        assertEquals(5, transport.getLimiter().getLimit());
+        assertEquals(1, transport.getLimiter().getInFlightCalls());
+
+        response.close();
+        assertEquals(0, transport.getLimiter().getInFlightCalls());
+    }
+}
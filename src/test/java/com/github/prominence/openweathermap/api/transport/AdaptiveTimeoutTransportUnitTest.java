@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.AdaptiveTimeoutSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveTimeoutTransportUnitTest {
+    @Test
+    public void whenLatencyIsUnknown_thenUseConfiguredTimeout() throws Exception {
+        final List<TransportRequest> executedRequests = new CopyOnWriteArrayList<>();
+        final AdaptiveTimeoutTransport transport = new AdaptiveTimeoutTransport(recordingTransport(executedRequests, 0));
+        transport.setSettings(new AdaptiveTimeoutSettings(0.99, 100, 300, 5000, 5));
+
+        final TransportRequest request = createRequest();
+        transport.execute(request);
+
+        assertSame(request, executedRequests.get(0));
+        assertNull(transport.getTimeout("weather"));
+    }
+
+    @Test
+    public void whenLatencyIsLow_thenUseFloorTimeout() throws Exception {
+        final List<TransportRequest> executedRequests = new CopyOnWriteArrayList<>();
+        final AdaptiveTimeoutTransport transport = new AdaptiveTimeoutTransport(recordingTransport(executedRequests, 0));
+        transport.setSettings(new AdaptiveTimeoutSettings(0.99, 100, 300, 5000, 5));
+        for (int i = 0; i < 5; i++) {
+            transport.execute(createRequest());
+        }
+
+        final TransportRequest request = createRequest();
+        transport.execute(request);
+
+        final TransportRequest adaptedRequest = executedRequests.get(5);
+        assertEquals(300, adaptedRequest.getTimeoutSettings().getReadTimeout());
+        assertEquals(2000, adaptedRequest.getTimeoutSettings().getConnectionTimeout());
+        assertEquals(2000, request.getTimeoutSettings().getReadTimeout());
+        assertEquals(300, transport.getTimeout("weather"));
+        assertNull(transport.getTimeout("onecall"));
+
+        request.abort();
+        assertTrue(adaptedRequest.isAborted());
+    }
+
+    @Test
+    public void whenLatencyIsHigh_thenUseCeilingTimeout() throws Exception {
+        final List<TransportRequest> executedRequests = new CopyOnWriteArrayList<>();
+        final AdaptiveTimeoutTransport transport = new AdaptiveTimeoutTransport(recordingTransport(executedRequests, 50));
+        transport.setSettings(new AdaptiveTimeoutSettings(0.99, 0, 10, 30, 5));
+        for (int i = 0; i < 5; i++) {
+            transport.execute(createRequest());
+        }
+
+        assertEquals(30, transport.getTimeout("weather"));
+    }
+
+    @Test
+    public void whenSettingsAreRemoved_thenUseConfiguredTimeout() throws Exception {
+        final List<TransportRequest> executedRequests = new CopyOnWriteArrayList<>();
+        final AdaptiveTimeoutTransport transport = new AdaptiveTimeoutTransport(recordingTransport(executedRequests, 0));
+        transport.setSettings(new AdaptiveTimeoutSettings(0.99, 100, 300, 5000, 1));
+        transport.execute(createRequest());
+        transport.setSettings(null);
+
+        final TransportRequest request = createRequest();
+        transport.execute(request);
+        assertSame(request, executedRequests.get(1));
+    }
+
+    private static HttpTransport recordingTransport(List<TransportRequest> executedRequests, long latency) {
+        return request -> {
+            executedRequests.add(request);
+            if (latency > 0) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new TransportResponse(200, Collections.emptyMap(), null);
+        };
+    }
+
+    private static TransportRequest createRequest() {
+        return new TransportRequest("https://api.openweathermap.org/data/2.5/weather?q=London", "weather", new TimeoutSettings());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.BulkheadSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointGroup;
+import com.github.prominence.openweathermap.api.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadUnitTest {
+    @Test
+    public void whenBulkheadIsFull_thenQueueAndRejectRequests() throws IOException {
+        final Bulkhead bulkhead = new Bulkhead("test", new BulkheadSettings(1, 1, 10));
+        bulkhead.acquire();
+        assertTrue(bulkhead.isSaturated());
+
+        final CompletableFuture<Void> waiting = bulkhead.acquireAsync();
+        assertFalse(waiting.isDone());
+        assertEquals(1, bulkhead.getWaitingCalls());
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertTrue(bulkhead.acquireAsync().isCompletedExceptionally());
+        assertEquals(2, bulkhead.getRejectedCalls());
+
+        bulkhead.release();
+        assertTrue(waiting.isDone());
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getWaitingCalls());
+
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertFalse(bulkhead.isSaturated());
+    }
+
+    @Test
+    public void whenBlockingRequestTimesOut_thenLeaveTheQueue() throws IOException {
+        final Bulkhead bulkhead = new Bulkhead("test", new BulkheadSettings(1, 5, 10));
+        bulkhead.acquire();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(0, bulkhead.getWaitingCalls());
+        assertEquals(1, bulkhead.getRejectedCalls());
+    }
+
+    @Test
+    public void whenResponseIsClosed_thenReleaseSlot() throws Exception {
+        final Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+        final Bulkhead bulkhead = new Bulkhead(EndpointGroup.ONE_CALL.name(), new BulkheadSettings(1, 0, 0));
+        bulkheads.put(EndpointGroup.ONE_CALL, bulkhead);
+        final BulkheadTransport transport = new BulkheadTransport(request -> new TransportResponse(200, Collections.emptyMap(), null), bulkheads);
+
+        final TransportResponse response = transport.execute(new TransportRequest("https://localhost/onecall/timemachine", "onecall/timemachine", new TimeoutSettings()));
+        assertThrows(BulkheadFullException.class, () -> transport.execute(new TransportRequest("https://localhost/onecall", "onecall", new TimeoutSettings())));
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> transport.executeAsync(new TransportRequest("https://localhost/onecall", "onecall", new TimeoutSettings())).get());
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+
+        // other endpoint groups are not affected
+        transport.execute(new TransportRequest("https://localhost/weather", "weather", new TimeoutSettings())).close();
+
+        response.close();
+        response.close();
+        assertEquals(0, bulkhead.getActiveCalls());
+        transport.executeAsync(new TransportRequest("https://localhost/onecall", "onecall", new TimeoutSettings())).get().close();
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    public void whenRequestFails_thenReleaseSlot() {
+        final Bulkhead bulkhead = new Bulkhead(EndpointGroup.FORECAST.name(), new BulkheadSettings(1, 0, 0));
+        final BulkheadTransport transport = new BulkheadTransport(request -> {
+            throw new IOException("Connection reset");
+        }, Collections.singletonMap(EndpointGroup.FORECAST, bulkhead));
+
+        assertThrows(IOException.class, () -> transport.execute(new TransportRequest("https://localhost/forecast", "forecast", new TimeoutSettings())));
+        assertThrows(ExecutionException.class, () -> transport.executeAsync(new TransportRequest("https://localhost/forecast", "forecast", new TimeoutSettings())).get());
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    public void whenResolveEndpointGroup_thenUseEndpointRoot() {
+        assertEquals(EndpointGroup.CURRENT_WEATHER, EndpointGroup.of("box/city"));
+        assertEquals(EndpointGroup.ONE_CALL, EndpointGroup.of("onecall/timemachine"));
+        assertEquals(EndpointGroup.AIR_POLLUTION, EndpointGroup.of("air_pollution/history"));
+        assertEquals(EndpointGroup.OTHER, EndpointGroup.of(null));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerUnitTest {
+    @Test
+    public void whenFailureRateReachesThreshold_thenOpenCircuit() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker("weather", new CircuitBreakerSettings(0.5, 4, 4, 60000, 1));
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onSuccess();
+        }
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(0.5, circuitBreaker.getFailureRate());
+
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    public void whenOpenDurationIsOver_thenProbeEndpoint() throws InterruptedException {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker("weather", new CircuitBreakerSettings(0.5, 2, 1, 10, 2));
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(20);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(20);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    public void whenEndpointFails_thenRejectOnlyItsRequests() throws IOException {
+        final AtomicInteger executedRequests = new AtomicInteger();
+        final CircuitBreakerTransport transport = new CircuitBreakerTransport(request -> {
+            executedRequests.incrementAndGet();
+            if (request.getEndpoint().startsWith("air_pollution")) {
+                throw new IOException("Read timed out");
+            }
+            return new TransportResponse(200, Collections.emptyMap(), null);
+        });
+        transport.setSettings(new CircuitBreakerSettings(0.5, 2, 2, 60000, 1));
+
+        final TransportRequest pollutionRequest = new TransportRequest("https://localhost/air_pollution/history", "air_pollution/history", new TimeoutSettings());
+        assertThrows(IOException.class, () -> transport.execute(pollutionRequest));
+        assertThrows(IOException.class, () -> transport.execute(pollutionRequest));
+        assertThrows(CircuitBreakerOpenException.class, () -> transport.execute(pollutionRequest));
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> transport.executeAsync(pollutionRequest).get());
+        assertInstanceOf(CircuitBreakerOpenException.class, exception.getCause());
+        assertEquals(2, executedRequests.get());
+
+        transport.execute(new TransportRequest("https://localhost/weather", "weather", new TimeoutSettings())).close();
+        assertEquals(CircuitBreaker.State.OPEN, transport.getCircuitBreaker("air_pollution/history").getState());
+        assertEquals(CircuitBreaker.State.CLOSED, transport.getCircuitBreaker("weather").getState());
+    }
+
+    @Test
+    public void whenBodyReadFails_thenCountFailure() throws IOException {
+        final CircuitBreakerTransport transport = new CircuitBreakerTransport(request -> new TransportResponse(200, Collections.emptyMap(),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                }));
+        transport.setSettings(new CircuitBreakerSettings(0.5, 2, 2, 60000, 1));
+
+        final TransportRequest pollutionRequest = new TransportRequest("https://localhost/air_pollution/history", "air_pollution/history", new TimeoutSettings());
+        for (int i = 0; i < 2; i++) {
+            try (TransportResponse response = transport.execute(pollutionRequest)) {
+                assertThrows(SocketTimeoutException.class, () -> response.getBody().read());
+            }
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, transport.getCircuitBreaker("air_pollution/history").getState());
+        assertThrows(CircuitBreakerOpenException.class, () -> transport.execute(pollutionRequest));
+    }
+}
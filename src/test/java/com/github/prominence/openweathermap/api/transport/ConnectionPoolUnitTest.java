@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.ConnectionPoolSettings;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolUnitTest {
+    @Test
+    public void whenAllConnectionsAreLeased_thenFailAfterTimeout() throws IOException {
+        final ConnectionPool connectionPool = new ConnectionPool(new ConnectionPoolSettings(1, 5000, 0, 0));
+        final ConnectionPool.Lease lease = connectionPool.acquire("host", 10);
+
+        assertThrows(IOException.class, () -> connectionPool.acquire("host", 10));
+        assertNotNull(connectionPool.acquire("anotherHost", 10));
+
+        lease.release();
+        assertNotNull(connectionPool.acquire("host", 10));
+    }
+
+    @Test
+    public void whenLimitIsNotSet_thenDoNotWaitForConnection() throws IOException {
+        final ConnectionPool connectionPool = new ConnectionPool(new ConnectionPoolSettings());
+
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(connectionPool.acquire("host", 10));
+        }
+    }
+
+    @Test
+    public void whenConnectionIsReused_thenRecordHit() throws IOException {
+        final ConnectionPool connectionPool = new ConnectionPool(new ConnectionPoolSettings());
+
+        final ConnectionPool.Lease firstLease = connectionPool.acquire("host", null);
+        firstLease.connectionOpened(new Socket());
+        firstLease.recordUsage(true);
+        firstLease.release();
+
+        final ConnectionPool.Lease secondLease = connectionPool.acquire("host", null);
+        secondLease.recordUsage(true);
+        secondLease.release();
+
+        assertEquals(1, connectionPool.getStatistics().getMisses());
+        assertEquals(1, connectionPool.getStatistics().getHits());
+    }
+
+    @Test
+    public void whenConnectionCannotBeObserved_thenRecordUntracked() throws IOException {
+        final ConnectionPool connectionPool = new ConnectionPool(new ConnectionPoolSettings());
+
+        final ConnectionPool.Lease lease = connectionPool.acquire("host", null);
+        lease.recordUsage(false);
+        lease.release();
+
+        assertEquals(1, connectionPool.getStatistics().getUntracked());
+        assertEquals(0, connectionPool.getStatistics().getHits());
+        assertEquals(0, connectionPool.getStatistics().getMisses());
+    }
+
+    @Test
+    public void whenHostIsIdleForTooLong_thenEvictConnections() throws IOException, InterruptedException {
+        final ConnectionPool connectionPool = new ConnectionPool(new ConnectionPoolSettings(2, 20, 0, 0));
+        final Socket socket = new Socket();
+
+        final ConnectionPool.Lease lease = connectionPool.acquire("host", null);
+        lease.connectionOpened(socket);
+        lease.release();
+
+        connectionPool.acquire("host", null).release();
+        assertFalse(socket.isClosed());
+
+        Thread.sleep(50);
+        connectionPool.acquire("host", null).release();
+        assertTrue(socket.isClosed());
+        assertEquals(1, connectionPool.getStatistics().getEvictions());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.UnsupportedContentEncodingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentDecodingTransportUnitTest {
+    private static final String BODY = "{\"lat\":53.9,\"lon\":27.5667,\"hourly\":[{\"temp\":1.84},{\"temp\":1.84},{\"temp\":1.84},{\"temp\":1.84}]}";
+
+    @Test
+    public void whenResponseIsGzipped_thenDecodeIt() throws IOException {
+        final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        final ContentDecodingTransport transport = new ContentDecodingTransport(request -> {
+            acceptEncoding.set(request.getHeaders().get("Accept-Encoding"));
+            return response("gzip", gzip());
+        });
+
+        assertEquals(BODY, execute(transport));
+        assertEquals("gzip, deflate", acceptEncoding.get());
+        assertEquals(1, transport.getTransferStatistics().getCompressedResponses());
+        assertEquals(BODY.length(), transport.getTransferStatistics().getDecodedBytes());
+        assertTrue(transport.getTransferStatistics().getTransferredBytes() < transport.getTransferStatistics().getDecodedBytes());
+    }
+
+    @Test
+    public void whenResponseIsDeflated_thenDecodeIt() throws IOException {
+        final byte[] zlibBody = deflate(false);
+        assertEquals(BODY, execute(new ContentDecodingTransport(request -> response("deflate", zlibBody))));
+
+        final byte[] rawBody = deflate(true);
+        assertEquals(BODY, execute(new ContentDecodingTransport(request -> response("deflate", rawBody))));
+    }
+
+    @Test
+    public void whenResponseIsGzippedAndRequestIsAsync_thenDecodeIt() throws Exception {
+        final byte[] gzipBody = gzip();
+        final ContentDecodingTransport transport = new ContentDecodingTransport(request -> response("gzip", gzipBody));
+
+        try (TransportResponse response = transport.executeAsync(new TransportRequest("https://api.openweathermap.org/data/2.5/onecall", new TimeoutSettings())).get()) {
+            assertEquals(BODY, read(response.getBody()));
+        }
+    }
+
+    @Test
+    public void whenResponseIsNotCompressed_thenReturnItAsIs() throws IOException {
+        final ContentDecodingTransport transport = new ContentDecodingTransport(request -> response(null, BODY.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(BODY, execute(transport));
+        assertEquals(1, transport.getTransferStatistics().getUncompressedResponses());
+        assertEquals(BODY.length(), transport.getTransferStatistics().getTransferredBytes());
+    }
+
+    @Test
+    public void whenCompressedResponseHasNoBody_thenReturnEmptyBody() throws IOException {
+        assertEquals("", execute(new ContentDecodingTransport(request -> response("gzip", new byte[0]))));
+    }
+
+    @Test
+    public void whenContentEncodingIsUnsupported_thenFailWithoutRetry() {
+        final AtomicInteger calls = new AtomicInteger();
+        final RetryingTransport transport = new RetryingTransport(new ContentDecodingTransport(request -> {
+            calls.incrementAndGet();
+            return response("br", BODY.getBytes(StandardCharsets.UTF_8));
+        }), new RetrySettings(3, 1, 10, 2, 0));
+
+        assertThrows(UnsupportedContentEncodingException.class, () -> execute(transport));
+        assertEquals(1, calls.get());
+
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> transport.executeAsync(new TransportRequest("https://api.openweathermap.org/data/2.5/onecall", new TimeoutSettings())).get());
+        assertInstanceOf(UnsupportedContentEncodingException.class, exception.getCause());
+        assertEquals(2, calls.get());
+    }
+
+    private static String execute(HttpTransport transport) throws IOException {
+        try (TransportResponse response = transport.execute(new TransportRequest("https://api.openweathermap.org/data/2.5/onecall", new TimeoutSettings()))) {
+            return read(response.getBody());
+        }
+    }
+
+    private static String read(InputStream body) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[16];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static TransportResponse response(String contentEncoding, byte[] body) {
+        return new TransportResponse(200, contentEncoding != null ? Collections.singletonMap("Content-Encoding", Collections.singletonList(contentEncoding)) : null,
+                new ByteArrayInputStream(body));
+    }
+
+    private static byte[] gzip() throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(result)) {
+            outputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] deflate(boolean raw) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new DeflaterOutputStream(result, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            outputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgingTransportUnitTest {
+    @Test
+    public void whenLatencyIsUnknown_thenDoNotHedge() throws Exception {
+        final ControlledTransport delegate = new ControlledTransport();
+        final HedgingTransport hedgingTransport = new HedgingTransport(delegate);
+        hedgingTransport.setSettings(new HedgingSettings(0.9, 10, 1.0, 20));
+
+        final CompletableFuture<TransportResponse> response = hedgingTransport.executeAsync(createRequest(), Runnable::run);
+        Thread.sleep(100);
+        assertEquals(1, delegate.requests.size());
+
+        delegate.responses.get(0).complete(new TransportResponse(200, Collections.emptyMap(), null));
+        assertEquals(200, response.get().getStatusCode());
+        assertEquals(1, hedgingTransport.getLatencyHistogram("weather").getCount());
+    }
+
+    @Test
+    public void whenResponseIsSlow_thenHedgeAndAbortSlowRequest() throws Exception {
+        final ControlledTransport delegate = new ControlledTransport();
+        final HedgingTransport hedgingTransport = new HedgingTransport(delegate);
+        hedgingTransport.setSettings(new HedgingSettings(0.9, 10, 1.0, 20));
+        warmUp(hedgingTransport, delegate);
+
+        final TransportRequest request = createRequest();
+        final AtomicInteger resends = new AtomicInteger();
+        request.onResend(resends::incrementAndGet);
+        final CompletableFuture<TransportResponse> response = hedgingTransport.executeAsync(request, Runnable::run);
+        final TransportRequest primaryRequest = delegate.requests.get(20);
+        waitForRequests(delegate, 22);
+        final TransportRequest hedgedRequest = delegate.requests.get(21);
+        assertEquals(request.getUrl(), hedgedRequest.getUrl());
+
+        delegate.responses.get(21).complete(new TransportResponse(200, Collections.emptyMap(), null));
+        assertEquals(200, response.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertTrue(primaryRequest.isAborted());
+        assertFalse(hedgedRequest.isAborted());
+        assertFalse(request.isAborted());
+        assertEquals(1, hedgingTransport.getStatistics().getHedgedRequests());
+        assertEquals(1, hedgingTransport.getStatistics().getHedgeWins());
+        assertEquals(1, resends.get());
+    }
+
+    @Test
+    public void whenBudgetIsExhausted_thenDoNotHedge() throws Exception {
+        final ControlledTransport delegate = new ControlledTransport();
+        final HedgingTransport hedgingTransport = new HedgingTransport(delegate);
+        hedgingTransport.setSettings(new HedgingSettings(0.9, 10, 0.01, 20));
+        warmUp(hedgingTransport, delegate);
+
+        final CompletableFuture<TransportResponse> response = hedgingTransport.executeAsync(createRequest(), Runnable::run);
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (hedgingTransport.getStatistics().getBudgetRejections() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, hedgingTransport.getStatistics().getBudgetRejections());
+        assertEquals(0, hedgingTransport.getStatistics().getHedgedRequests());
+        assertEquals(21, delegate.requests.size());
+
+        delegate.responses.get(20).complete(new TransportResponse(200, Collections.emptyMap(), null));
+        assertEquals(200, response.get().getStatusCode());
+    }
+
+    @Test
+    public void whenOriginalRequestIsAborted_thenAbortAllAttempts() throws Exception {
+        final ControlledTransport delegate = new ControlledTransport();
+        final HedgingTransport hedgingTransport = new HedgingTransport(delegate);
+        hedgingTransport.setSettings(new HedgingSettings(0.9, 10, 1.0, 20));
+        warmUp(hedgingTransport, delegate);
+
+        final TransportRequest request = createRequest();
+        final CompletableFuture<TransportResponse> response = hedgingTransport.executeAsync(request, Runnable::run);
+        waitForRequests(delegate, 22);
+        request.abort();
+
+        assertTrue(response.isCompletedExceptionally());
+        assertTrue(delegate.requests.get(20).isAborted());
+        assertTrue(delegate.requests.get(21).isAborted());
+    }
+
+    @Test
+    public void whenSynchronousRequestIsHedged_thenExecuteAttemptsInExecutor() throws Exception {
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final HedgingTransport hedgingTransport = new HedgingTransport(request -> {
+            threads.add(Thread.currentThread().getName());
+            return new TransportResponse(200, Collections.emptyMap(), null);
+        });
+        hedgingTransport.setSettings(new HedgingSettings(0.9, 10, 1.0, 20));
+        try (TransportResponse response = hedgingTransport.execute(createRequest())) {
+            assertEquals(200, response.getStatusCode());
+        }
+        // blocking attempts don't run in common pool by default
+        assertTrue(threads.remove(0).startsWith("openweathermap-hedging-"));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request-executor"));
+        hedgingTransport.setExecutor(executor);
+        try (TransportResponse response = hedgingTransport.execute(createRequest())) {
+            assertEquals(200, response.getStatusCode());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(Collections.singletonList("request-executor"), threads);
+    }
+
+    @Test
+    public void whenLatenciesAreRecorded_thenCalculatePercentiles() {
+        final LatencyHistogram latencyHistogram = new LatencyHistogram(100);
+        for (int i = 1; i <= 100; i++) {
+            latencyHistogram.record(i);
+        }
+
+        assertEquals(100, latencyHistogram.getCount());
+        assertTrue(latencyHistogram.getPercentile(0.5) >= 50 && latencyHistogram.getPercentile(0.5) <= 63);
+        assertTrue(latencyHistogram.getPercentile(0.99) >= 99 && latencyHistogram.getPercentile(0.99) <= 124);
+
+        // older samples are forgotten
+        for (int i = 0; i < 1000; i++) {
+            latencyHistogram.record(1000);
+        }
+        assertTrue(latencyHistogram.getPercentile(0.5) >= 1000);
+        assertTrue(latencyHistogram.getCount() < 200);
+    }
+
+    private static void warmUp(HedgingTransport hedgingTransport, ControlledTransport delegate) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            final CompletableFuture<TransportResponse> response = hedgingTransport.executeAsync(createRequest(), Runnable::run);
+            delegate.responses.get(i).complete(new TransportResponse(200, Collections.emptyMap(), null));
+            response.get();
+        }
+    }
+
+    private static void waitForRequests(ControlledTransport delegate, int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (delegate.requests.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, delegate.requests.size());
+    }
+
+    private static TransportRequest createRequest() {
+        return new TransportRequest("https://api.openweathermap.org/data/2.5/weather?q=London", "weather", new TimeoutSettings());
+    }
+
+    private static class ControlledTransport implements HttpTransport {
+        private final List<TransportRequest> requests = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<TransportResponse>> responses = new CopyOnWriteArrayList<>();
+
+        @Override
+        public TransportResponse execute(TransportRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+            final CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+            responses.add(response);
+            requests.add(request);
+            return response;
+        }
+    }
+}
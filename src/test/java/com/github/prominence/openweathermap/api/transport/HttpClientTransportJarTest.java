@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Tests of the Java 11 transport. They run by failsafe against the packaged multi-release jar,
+ * because classes of <code>META-INF/versions/11</code> aren't loaded from the output directory.
+ */
+public class HttpClientTransportJarTest {
+    private HttpServer server;
+    private final CountDownLatch slowResponseLatch = new CountDownLatch(1);
+    private HttpTransport transport;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        assumeFalse(System.getProperty("java.specification.version").startsWith("1."), "HttpClientTransport requires Java 11 or higher.");
+        transport = HttpTransports.http2Transport();
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/weather", exchange -> {
+            final byte[] body = ("{\"header\":\"" + exchange.getRequestHeaders().getFirst("X-Test") + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            final byte[] body = "{\"cod\":\"404\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                slowResponseLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        slowResponseLatch.countDown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void whenRunningOnJava11_thenUseHttpClientTransport() {
+        assertEquals("HttpClientTransport", transport.getClass().getSimpleName());
+        assertInstanceOf(HttpURLConnectionTransport.class, HttpTransports.defaultTransport());
+    }
+
+    @Test
+    public void whenExecuteRequest_thenReturnBodyAndHeaders() throws IOException {
+        final TransportRequest request = new TransportRequest(baseUrl() + "/weather", "weather", new TimeoutSettings());
+        request.putHeader("X-Test", "value");
+
+        try (TransportResponse response = transport.execute(request)) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals("application/json", response.getHeader("content-type"));
+            assertEquals("{\"header\":\"value\"}", read(response.getBody()));
+        }
+    }
+
+    @Test
+    public void whenExecuteRequestAsynchronously_thenReturnBody() throws Exception {
+        final TransportRequest request = new TransportRequest(baseUrl() + "/weather", new TimeoutSettings());
+        request.putHeader("X-Test", "async");
+
+        try (TransportResponse response = transport.executeAsync(request).get(5, TimeUnit.SECONDS)) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals("{\"header\":\"async\"}", read(response.getBody()));
+        }
+    }
+
+    @Test
+    public void whenExecuteRequestToMissingPage_thenReturnErrorBody() throws IOException {
+        final TransportRequest request = new TransportRequest(baseUrl() + "/missing", new TimeoutSettings());
+
+        try (TransportResponse response = transport.execute(request)) {
+            assertEquals(404, response.getStatusCode());
+            assertEquals("{\"cod\":\"404\"}", read(response.getBody()));
+        }
+    }
+
+    @Test
+    public void whenRequestIsAborted_thenCompleteExceptionally() {
+        final TransportRequest request = new TransportRequest(baseUrl() + "/slow", new TimeoutSettings());
+        final CompletableFuture<TransportResponse> response = transport.executeAsync(request);
+
+        final long start = System.currentTimeMillis();
+        request.abort();
+        assertThrows(Exception.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void whenRequestHasDeadline_thenLimitTimeout() {
+        final TransportRequest request = new TransportRequest(baseUrl() + "/slow", new TimeoutSettings(2000, 5000, 200));
+
+        final long start = System.currentTimeMillis();
+        assertThrows(IOException.class, () -> transport.execute(request));
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.RateLimitSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterUnitTest {
+    @Test
+    public void whenBucketIsEmpty_thenReserveFuturePermits() {
+        final RateLimiter rateLimiter = new RateLimiter(new RateLimitSettings(2, 1000, true, 60000));
+
+        assertEquals(0, rateLimiter.reserve(Long.MAX_VALUE));
+        assertEquals(0, rateLimiter.reserve(Long.MAX_VALUE));
+        final long firstWaitTime = rateLimiter.reserve(Long.MAX_VALUE);
+        final long secondWaitTime = rateLimiter.reserve(Long.MAX_VALUE);
+        assertTrue(firstWaitTime > 29000 && firstWaitTime <= 30000);
+        assertTrue(secondWaitTime > 59000 && secondWaitTime <= 60000);
+        assertEquals(2, rateLimiter.getDelayedCalls());
+
+        // the next permit is available only in 90 seconds
+        assertEquals(-1, rateLimiter.reserve(Long.MAX_VALUE));
+        assertEquals(1, rateLimiter.getRejectedCalls());
+    }
+
+    @Test
+    public void whenModeIsNonBlocking_thenRejectCallsOverLimit() {
+        final RateLimiter rateLimiter = new RateLimiter(new RateLimitSettings(60, 1, false, 0));
+
+        assertEquals(0, rateLimiter.reserve(Long.MAX_VALUE));
+        assertEquals(-1, rateLimiter.reserve(Long.MAX_VALUE));
+        assertEquals(0, rateLimiter.getAvailableDayPermits());
+        assertEquals(59, rateLimiter.getAvailableMinutePermits());
+    }
+
+    @Test
+    public void whenSubscriptionPlanIsProvided_thenUseItsLimits() {
+        final RateLimitSettings settings = new RateLimitSettings(SubscriptionPlan.FREE);
+
+        assertEquals(60, settings.getCallsPerMinute());
+        assertEquals(33333, settings.getCallsPerDay());
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitSettings(SubscriptionPlan.SPECIAL));
+    }
+
+    @Test
+    public void whenAsyncCallIsDelayed_thenExecuteItLater() throws Exception {
+        final RateLimitingTransport transport = new RateLimitingTransport(request -> new TransportResponse(200, Collections.emptyMap(), null));
+        transport.setSettings(new RateLimitSettings(60, 1000, true, 2000));
+        final TransportRequest request = new TransportRequest("https://localhost/weather", "weather", new TimeoutSettings());
+
+        for (int i = 0; i < 60; i++) {
+            transport.execute(request).close();
+        }
+        final CompletableFuture<TransportResponse> delayedResponse = transport.executeAsync(request);
+        assertFalse(delayedResponse.isDone());
+        assertEquals(200, delayedResponse.get().getStatusCode());
+
+        transport.setSettings(new RateLimitSettings(1, 1000, false, 0));
+        transport.execute(request).close();
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> transport.executeAsync(request).get());
+        assertInstanceOf(RateLimitExceededException.class, exception.getCause());
+        assertThrows(RateLimitExceededException.class, () -> transport.execute(request));
+    }
+
+    @Test
+    public void whenDelayedCallIsAborted_thenGiveBackPermit() throws Exception {
+        final RateLimitingTransport transport = new RateLimitingTransport(request -> new TransportResponse(200, Collections.emptyMap(), null));
+        transport.setSettings(new RateLimitSettings(600, 100000, true, 2000));
+        final RateLimiter rateLimiter = transport.getRateLimiter();
+        for (int i = 0; i < 600; i++) {
+            rateLimiter.forceAcquire();
+        }
+        final TransportRequest request = new TransportRequest("https://localhost/weather", "weather", new TimeoutSettings());
+
+        final CompletableFuture<TransportResponse> delayedResponse = transport.executeAsync(request);
+        assertFalse(delayedResponse.isDone());
+        request.abort();
+        final ExecutionException exception = assertThrows(ExecutionException.class, delayedResponse::get);
+        assertInstanceOf(InterruptedIOException.class, exception.getCause());
+
+        // one permit is refilled in 100 milliseconds, the aborted call must not have taken it
+        Thread.sleep(150);
+        assertTrue(rateLimiter.tryAcquire());
+        assertEquals(100000 - 601, rateLimiter.getAvailableDayPermits());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.transport;
+
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryingTransportUnitTest {
+    @Test
+    public void whenServerErrorIsTransient_thenRetryRequest() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(503, new IOException("Connection reset"), 200).iterator();
+        final RetryingTransport transport = new RetryingTransport(stubTransport(responses), new RetrySettings(3, 1, 10, 2, 0.5));
+
+        try (TransportResponse response = transport.execute(request(null))) {
+            assertEquals(200, response.getStatusCode());
+        }
+        assertEquals(2, transport.getRetryStatistics().getRetries());
+        assertEquals(1, transport.getRetryStatistics().getRecoveredRequests());
+    }
+
+    @Test
+    public void whenAsyncRequestIsThrottled_thenRetryWithoutBlocking() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(429, 200).iterator();
+        final RetryingTransport transport = new RetryingTransport(stubTransport(responses), new RetrySettings(3, 1, 10, 2, 0.5));
+
+        try (TransportResponse response = transport.executeAsync(request(null)).get()) {
+            assertEquals(200, response.getStatusCode());
+        }
+        assertEquals(1, transport.getRetryStatistics().getThrottledRetries());
+    }
+
+    @Test
+    public void whenAsyncRequestIsRetried_thenCallDelegateInExecutor() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(503, 200).iterator();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final HttpTransport delegate = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                threads.add(Thread.currentThread().getName());
+                return CompletableFuture.completedFuture(new TransportResponse((Integer) responses.next(), Collections.emptyMap(), null));
+            }
+        };
+        final RetryingTransport transport = new RetryingTransport(delegate, new RetrySettings(3, 1, 10, 2, 0.5));
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request-executor"));
+        try (TransportResponse response = transport.executeAsync(request(null), executor).get(5, TimeUnit.SECONDS)) {
+            assertEquals(200, response.getStatusCode());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2, threads.size());
+        assertEquals("request-executor", threads.get(1));
+    }
+
+    @Test
+    public void whenAttemptsAreExhausted_thenReturnLastResponse() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(500, 502).iterator();
+        final RetryingTransport transport = new RetryingTransport(stubTransport(responses), new RetrySettings(2, 1, 10, 2, 0.5));
+
+        try (TransportResponse response = transport.execute(request(null))) {
+            assertEquals(502, response.getStatusCode());
+        }
+        assertEquals(1, transport.getRetryStatistics().getExhaustedRequests());
+    }
+
+    @Test
+    public void whenRetryAfterIsTooLong_thenDoNotRetry() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(429, 200).iterator();
+        final RetryingTransport transport = new RetryingTransport(stubTransport(responses, Collections.singletonMap("Retry-After", Collections.singletonList("60"))),
+                new RetrySettings(3, 1, 10000, 2, 0.5));
+
+        try (TransportResponse response = transport.execute(request(null))) {
+            assertEquals(429, response.getStatusCode());
+            assertEquals(60000L, response.getRetryAfter());
+        }
+        assertEquals(0, transport.getRetryStatistics().getRetries());
+    }
+
+    @Test
+    public void whenBackoffExceedsDeadline_thenDoNotRetry() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(503, 200).iterator();
+        final RetryingTransport transport = new RetryingTransport(stubTransport(responses), new RetrySettings(3, 5000, 5000, 2, 0));
+
+        try (TransportResponse response = transport.execute(request(100))) {
+            assertEquals(503, response.getStatusCode());
+        }
+    }
+
+    @Test
+    public void whenStatusIsNotTransient_thenDoNotRetry() throws Exception {
+        final Iterator<Object> responses = Arrays.<Object>asList(404, 200).iterator();
+        final RetryingTransport transport = new RetryingTransport(stubTransport(responses), new RetrySettings());
+
+        try (TransportResponse response = transport.execute(request(null))) {
+            assertEquals(404, response.getStatusCode());
+        }
+        assertEquals(0, transport.getRetryStatistics().getRetries());
+    }
+
+    private static TransportRequest request(Integer totalTimeout) {
+        return new TransportRequest("https://localhost/weather", "weather", new TimeoutSettings(null, null, totalTimeout));
+    }
+
+    private static HttpTransport stubTransport(Iterator<Object> responses) {
+        return stubTransport(responses, Collections.emptyMap());
+    }
+
+    private static HttpTransport stubTransport(Iterator<Object> responses, Map<String, List<String>> headers) {
+        return request -> {
+            final Object response = responses.next();
+            if (response instanceof IOException) {
+                throw (IOException) response;
+            }
+            return new TransportResponse((Integer) response, headers, null);
+        };
+    }
+}
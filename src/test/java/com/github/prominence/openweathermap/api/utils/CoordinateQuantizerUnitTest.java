@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.CoordinateQuantizationSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.model.Coordinate;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoordinateQuantizerUnitTest {
+
+    @Test
+    public void whenDecimalPlaces_thenRoundCoordinate() {
+        final CoordinateQuantizer quantizer = new CoordinateQuantizer(new CoordinateQuantizationSettings());
+
+        assertEquals(Coordinate.of(51.51, -0.13), quantizer.quantize(Coordinate.of(51.5074, -0.1278)));
+        assertEquals(Coordinate.of(51.51, -0.13), quantizer.quantize(Coordinate.of(51.5129, -0.1251)));
+        assertEquals(Coordinate.of(90, -180), quantizer.quantize(Coordinate.of(89.999, -179.999)));
+    }
+
+    @Test
+    public void whenGeohash_thenReturnCellCenter() {
+        final CoordinateQuantizer singleCharacter = new CoordinateQuantizer(new CoordinateQuantizationSettings(CoordinateQuantizationSettings.Mode.GEOHASH, 1));
+        // cell "u" covers latitudes [45; 90] and longitudes [0; 45]
+        assertEquals(Coordinate.of(67.5, 22.5), singleCharacter.quantize(Coordinate.of(57.64911, 10.40744)));
+
+        final CoordinateQuantizer quantizer = new CoordinateQuantizer(new CoordinateQuantizationSettings(CoordinateQuantizationSettings.Mode.GEOHASH, 6));
+        final Coordinate center = quantizer.quantize(Coordinate.of(57.64911, 10.40744));
+        assertEquals(center, quantizer.quantize(Coordinate.of(57.6492, 10.4075)));
+        assertEquals(center, quantizer.quantize(center));
+        assertTrue(Math.abs(center.getLatitude() - 57.64911) < 0.003);
+        assertTrue(Math.abs(center.getLongitude() - 10.40744) < 0.006);
+        assertNotEquals(center, quantizer.quantize(Coordinate.of(57.66, 10.40744)));
+    }
+
+    @Test
+    public void whenPrecisionIsOutOfRange_thenThrowAnException() {
+        assertThrows(IllegalArgumentException.class, () -> new CoordinateQuantizer(new CoordinateQuantizationSettings(CoordinateQuantizationSettings.Mode.DECIMAL_PLACES, -1)));
+        assertThrows(IllegalArgumentException.class, () -> new CoordinateQuantizer(new CoordinateQuantizationSettings(CoordinateQuantizationSettings.Mode.GEOHASH, 0)));
+        assertThrows(IllegalArgumentException.class, () -> new CoordinateQuantizer(new CoordinateQuantizationSettings(CoordinateQuantizationSettings.Mode.GEOHASH, 13)));
+    }
+
+    @Test
+    public void whenQuantizerIsSet_thenPutQuantizedCoordinate() {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings());
+        requestSettings.putCoordinate(Coordinate.of(51.5074, -0.1278));
+        assertEquals("51.5074", requestSettings.getRequestParameters().get("lat"));
+        assertEquals("-0.1278", requestSettings.getRequestParameters().get("lon"));
+
+        requestSettings.setCoordinateQuantizer(new CoordinateQuantizer(new CoordinateQuantizationSettings(CoordinateQuantizationSettings.Mode.DECIMAL_PLACES, 1)));
+        requestSettings.putCoordinate(Coordinate.of(51.5074, -0.1278));
+        assertEquals("51.5", requestSettings.getRequestParameters().get("lat"));
+        assertEquals("-0.1", requestSettings.getRequestParameters().get("lon"));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2021 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskCacheUnitTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void whenReopened_thenRestoreRecordsFromIndex() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        diskCache.put("london", 1000, Long.MAX_VALUE / 2, bytes("{\"name\":\"London\"}"));
+        diskCache.put("paris", 2000, Long.MAX_VALUE / 2, bytes("{\"name\":\"Paris\"}"));
+        diskCache.put("london", 3000, Long.MAX_VALUE / 2, bytes("{\"name\":\"London 2\"}"));
+        diskCache.close();
+        assertTrue(Files.exists(directory.resolve("index.dat")));
+
+        final DiskCache reopened = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        final DiskCache.Record london = reopened.get("london");
+
+        assertEquals(2, reopened.size());
+        assertEquals("{\"name\":\"London 2\"}", new String(london.getBody(), StandardCharsets.UTF_8));
+        assertEquals(3000, london.getFetchedAt());
+        assertEquals("{\"name\":\"Paris\"}", new String(reopened.get("paris").getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void whenNotClosed_thenScanRecordsAfterIndex() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        diskCache.put("london", System.currentTimeMillis(), 60000, bytes("London"));
+        diskCache.close();
+        final DiskCache crashed = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        crashed.put("paris", System.currentTimeMillis(), 60000, bytes("Paris"));
+
+        final DiskCache reopened = new DiskCache(new DiskCacheSettings(copyFiles(directory, "restarted"), 4096, 4));
+
+        assertNotNull(reopened.get("london"));
+        assertNotNull(reopened.get("paris"));
+    }
+
+    @Test
+    public void whenRecordIsBroken_thenDropRestOfSegment() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        diskCache.put("london", System.currentTimeMillis(), 60000, bytes("London"));
+        diskCache.put("paris", System.currentTimeMillis(), 60000, bytes("Paris"));
+        final Path restarted = copyFiles(directory, "restarted");
+        // corrupt the last byte of the body of the second record
+        try (RandomAccessFile file = new RandomAccessFile(restarted.resolve("segment-0.dat").toFile(), "rw")) {
+            file.seek(8 + 32 + "london".length() + "London".length() + 32 + "paris".length() + "Paris".length() - 5);
+            file.write('X');
+        }
+
+        final DiskCache reopened = new DiskCache(new DiskCacheSettings(restarted, 4096, 4));
+
+        assertNotNull(reopened.get("london"));
+        assertNull(reopened.get("paris"));
+        reopened.put("berlin", System.currentTimeMillis(), 60000, bytes("Berlin"));
+        assertNotNull(reopened.get("berlin"));
+    }
+
+    @Test
+    public void whenRecordIsExpired_thenReturnNull() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        diskCache.put("london", System.currentTimeMillis() - 2000, 1000, bytes("London"));
+
+        assertNull(diskCache.get("london"));
+        assertEquals(0, diskCache.size());
+    }
+
+    @Test
+    public void whenSegmentLimitIsExceeded_thenCompactOldestSegment() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 1024, 2));
+        final byte[] body = new byte[200];
+        diskCache.put("live", System.currentTimeMillis(), 60000, body);
+        diskCache.put("expired", System.currentTimeMillis(), 50, body);
+        for (int i = 0; i < 8; i++) {
+            diskCache.put("key" + i, System.currentTimeMillis(), 60000, body);
+        }
+        Thread.sleep(100);
+        diskCache.put("live", System.currentTimeMillis(), 60000, body);
+        for (int i = 8; i < 16; i++) {
+            diskCache.put("key" + i, System.currentTimeMillis(), 60000, body);
+        }
+
+        assertEquals(2, diskCache.getSegmentCount());
+        assertFalse(Files.exists(directory.resolve("segment-0.dat")));
+        assertNull(diskCache.get("expired"));
+        assertNotNull(diskCache.get("key15"));
+        diskCache.close();
+
+        final DiskCache reopened = new DiskCache(new DiskCacheSettings(directory, 1024, 2));
+        assertEquals(diskCache.size(), reopened.size());
+        assertNotNull(reopened.get("key15"));
+    }
+
+    @Test
+    public void whenRecordIsLargerThanSegment_thenSkipIt() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 1024, 2));
+        diskCache.put("large", System.currentTimeMillis(), 60000, new byte[2048]);
+
+        assertNull(diskCache.get("large"));
+        assertEquals(1, diskCache.getSegmentCount());
+    }
+
+    @Test
+    public void whenDirectoryIsUsedByAnotherInstance_thenFail() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        diskCache.put("london", System.currentTimeMillis(), 60000, bytes("London"));
+
+        assertThrows(DiskCache.DirectoryLockedException.class, () -> new DiskCache(new DiskCacheSettings(directory, 4096, 4)));
+
+        diskCache.close();
+        final DiskCache reopened = new DiskCache(new DiskCacheSettings(directory, 4096, 4));
+        assertNotNull(reopened.get("london"));
+        reopened.close();
+    }
+
+    @Test
+    public void whenRetiredSegmentIsLeftBehind_thenDeleteItOnStart() throws Exception {
+        final DiskCache diskCache = new DiskCache(new DiskCacheSettings(directory, 1024, 2));
+        for (int i = 0; i < 16; i++) {
+            diskCache.put("key" + i, System.currentTimeMillis(), 60000, new byte[200]);
+        }
+        diskCache.close();
+        // e.g. the segment was still mapped by another thread on Windows
+        final byte[] staleSegment = new byte[1024];
+        ByteBuffer.wrap(staleSegment).putInt(0x4f574d43).putInt(8);
+        Files.write(directory.resolve("segment-0.dat"), staleSegment);
+
+        final DiskCache reopened = new DiskCache(new DiskCacheSettings(directory, 1024, 2));
+
+        assertFalse(Files.exists(directory.resolve("segment-0.dat")));
+        assertEquals(2, reopened.getSegmentCount());
+        assertNotNull(reopened.get("key15"));
+        reopened.close();
+    }
+
+    /**
+     * Copies the files as they would be found after a crash, the copy isn't locked.
+     */
+    private static Path copyFiles(Path directory, String name) throws IOException {
+        final Path copy = Files.createDirectory(directory.resolve(name));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.dat")) {
+            for (Path file : stream) {
+                Files.copy(file, copy.resolve(file.getFileName()));
+            }
+        }
+        return copy;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
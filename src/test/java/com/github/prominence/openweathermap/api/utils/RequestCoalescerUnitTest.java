@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.TransportRequest;
+import com.github.prominence.openweathermap.api.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerUnitTest {
+    private static final Function<InputStream, Object> MAPPER = inputStream -> new Object();
+
+    @Test
+    public void whenIdenticalRequestsAreConcurrent_thenExecuteOnlyOne() throws Exception {
+        final RequestCoalescer requestCoalescer = new RequestCoalescer();
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+        final List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        final HttpTransport transport = request -> {
+            requestedUrls.add(request.getUrl());
+            await(responseLatch);
+            return new TransportResponse(200, Collections.emptyMap(), null);
+        };
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                // parameters order must not matter
+                final boolean reversed = i % 2 == 0;
+                results.add(executorService.submit(() -> RequestUtils.getResponse(createRequestSettings(requestCoalescer, transport, reversed), MAPPER)));
+            }
+            while (requestCoalescer.getCoalescedRequests() < 4) {
+                Thread.sleep(10);
+            }
+            responseLatch.countDown();
+
+            final Object firstResult = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(firstResult, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, requestedUrls.size());
+        assertEquals(0, requestCoalescer.getInFlightRequests());
+
+        // the request is completed, so the next one goes to the network
+        RequestUtils.getResponse(createRequestSettings(requestCoalescer, request -> {
+            requestedUrls.add(request.getUrl());
+            return new TransportResponse(200, Collections.emptyMap(), null);
+        }, false), MAPPER);
+        assertEquals(2, requestedUrls.size());
+    }
+
+    @Test
+    public void whenRequestsDiffer_thenExecuteEachOne() {
+        final RequestCoalescer requestCoalescer = new RequestCoalescer();
+        final CompletableFuture<TransportResponse> pendingResponse = new CompletableFuture<>();
+        final AtomicInteger requests = new AtomicInteger();
+        final HttpTransport transport = pendingTransport(pendingResponse, requests);
+
+        final RequestSettings londonSettings = createRequestSettings(requestCoalescer, transport, false);
+        final RequestSettings parisSettings = createRequestSettings(requestCoalescer, transport, false);
+        parisSettings.putRequestParameter("q", "Paris");
+        RequestUtils.getResponseAsync(londonSettings, MAPPER);
+        RequestUtils.getResponseAsync(parisSettings, MAPPER);
+        RequestUtils.getResponseAsync(createRequestSettings(requestCoalescer, transport, false), inputStream -> "raw");
+
+        assertEquals(3, requests.get());
+        assertEquals(3, requestCoalescer.getInFlightRequests());
+        assertEquals(0, requestCoalescer.getCoalescedRequests());
+    }
+
+    @Test
+    public void whenOneCallerCancels_thenOthersStillGetResult() throws Exception {
+        final RequestCoalescer requestCoalescer = new RequestCoalescer();
+        final CompletableFuture<TransportResponse> pendingResponse = new CompletableFuture<>();
+        final AtomicInteger requests = new AtomicInteger();
+        final HttpTransport transport = pendingTransport(pendingResponse, requests);
+
+        final CompletableFuture<Object> first = RequestUtils.getResponseAsync(createRequestSettings(requestCoalescer, transport, false), MAPPER);
+        final CompletableFuture<Object> second = RequestUtils.getResponseAsync(createRequestSettings(requestCoalescer, transport, true), MAPPER);
+        first.cancel(true);
+        pendingResponse.complete(new TransportResponse(200, Collections.emptyMap(), null));
+
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void whenAllCallersCancel_thenAbortRequest() {
+        final RequestCoalescer requestCoalescer = new RequestCoalescer();
+        final List<TransportRequest> executedRequests = new CopyOnWriteArrayList<>();
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                executedRequests.add(request);
+                return new CompletableFuture<>();
+            }
+        };
+
+        final CompletableFuture<Object> first = RequestUtils.getResponseAsync(createRequestSettings(requestCoalescer, transport, false), MAPPER);
+        final CompletableFuture<Object> second = RequestUtils.getResponseAsync(createRequestSettings(requestCoalescer, transport, false), MAPPER);
+        first.cancel(true);
+        assertFalse(executedRequests.get(0).isAborted());
+        second.cancel(true);
+
+        assertEquals(1, executedRequests.size());
+        assertTrue(executedRequests.get(0).isAborted());
+        assertEquals(0, requestCoalescer.getInFlightRequests());
+    }
+
+    private static RequestSettings createRequestSettings(RequestCoalescer requestCoalescer, HttpTransport transport, boolean reversed) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), transport, Runnable::run);
+        requestSettings.appendToURL("weather");
+        if (reversed) {
+            requestSettings.putRequestParameter("units", "metric");
+            requestSettings.putRequestParameter("q", "London");
+        } else {
+            requestSettings.putRequestParameter("q", "London");
+            requestSettings.putRequestParameter("units", "metric");
+        }
+        requestSettings.setRequestCoalescer(requestCoalescer);
+        return requestSettings;
+    }
+
+    private static HttpTransport pendingTransport(CompletableFuture<TransportResponse> pendingResponse, AtomicInteger requests) {
+        return new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                requests.incrementAndGet();
+                return pendingResponse;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -22,10 +22,40 @@
 
 package com.github.prominence.openweathermap.api.utils;
 
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.DeadlineExceededException;
+import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
 import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.exception.ServerErrorException;
+import com.github.prominence.openweathermap.api.exception.TooManyRequestsException;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.TransportRequest;
+import com.github.prominence.openweathermap.api.transport.TransportResponse;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RequestUtilsUnitTest {
     @Test
@@ -37,4 +67,221 @@ public class RequestUtilsUnitTest {
     public void whenPassUrlToNonExistingPage_thenThrowAnException() {
         assertThrows(NoDataFoundException.class, () -> RequestUtils.getResponse("https://openweathermap.org/somePage"));
     }
+
+    @Test
+    public void whenTransportReturnsOk_thenReturnBody() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        assertEquals("{\"cod\":200}", RequestUtils.getResponse(request, stubTransport(200, "{\"cod\":200}")));
+    }
+
+    @Test
+    public void whenMapperIsProvided_thenPassBodyStreamToIt() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        final Integer length = RequestUtils.getResponse(request, stubTransport(200, "{\"cod\":200}"), inputStream -> {
+            try {
+                return inputStream.available();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(11, length);
+    }
+
+    @Test
+    public void whenTransportReturnsUnauthorized_thenThrowAnException() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        assertThrows(InvalidAuthTokenException.class, () -> RequestUtils.getResponse(request, stubTransport(401, "")));
+    }
+
+    @Test
+    public void whenTransportReturnsNotFound_thenThrowAnException() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        assertThrows(NoDataFoundException.class, () -> RequestUtils.getResponse(request, stubTransport(404, "")));
+    }
+
+    @Test
+    public void whenTransportReturnsTransientError_thenThrowDistinctException() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        assertThrows(TooManyRequestsException.class, () -> RequestUtils.getResponse(request, stubTransport(429, "")));
+        assertThrows(ServerErrorException.class, () -> RequestUtils.getResponse(request, stubTransport(503, "")));
+    }
+
+    @Test
+    public void whenExecuteAsync_thenUseNonBlockingTransportMethod() throws Exception {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        final CompletableFuture<TransportResponse> pendingResponse = new CompletableFuture<>();
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                return pendingResponse;
+            }
+        };
+
+        final CompletableFuture<String> result = RequestUtils.getResponseAsync(request, transport, inputStream -> "mapped");
+        assertFalse(result.isDone());
+
+        pendingResponse.complete(new TransportResponse(200, Collections.emptyMap(), null));
+        assertEquals("mapped", result.get());
+    }
+
+    @Test
+    public void whenResultIsCancelled_thenAbortRequestAndSkipMapping() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        final CompletableFuture<TransportResponse> pendingResponse = new CompletableFuture<>();
+        final AtomicBoolean mapped = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                return pendingResponse;
+            }
+        };
+
+        final CompletableFuture<String> result = RequestUtils.getResponseAsync(request, transport, Runnable::run, inputStream -> {
+            mapped.set(true);
+            return "mapped";
+        });
+        result.cancel(true);
+        assertTrue(request.isAborted());
+
+        pendingResponse.complete(new TransportResponse(200, Collections.emptyMap(), new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        }));
+        assertFalse(mapped.get());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void whenDeadlineIsExceeded_thenAbortRequest() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings(null, null, 100));
+        final HttpTransport transport = hangingRequest -> {
+            final CountDownLatch aborted = new CountDownLatch(1);
+            hangingRequest.onAbort(aborted::countDown);
+            try {
+                aborted.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Socket closed");
+        };
+
+        assertThrows(DeadlineExceededException.class, () -> RequestUtils.getResponse(request, transport));
+        assertTrue(request.isAborted());
+    }
+
+    @Test
+    public void whenAsyncDeadlineIsExceeded_thenCompleteExceptionallyAndAbortRequest() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings(null, null, 100));
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                return new CompletableFuture<>();
+            }
+        };
+
+        final CompletableFuture<String> result = RequestUtils.getResponseAsync(request, transport, inputStream -> "mapped");
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(DeadlineExceededException.class, exception.getCause());
+        assertTrue(request.isAborted());
+    }
+
+    @Test
+    public void whenAsyncDeadlineIsExceeded_thenCompleteInExecutor() throws Exception {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings(null, null, 100));
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                return new CompletableFuture<>();
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request-executor"));
+        try {
+            final CompletableFuture<String> thread = RequestUtils.getResponseAsync(request, transport, executor, inputStream -> "mapped")
+                    .handle((value, throwable) -> Thread.currentThread().getName());
+
+            assertEquals("request-executor", thread.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void whenAsyncTransportReturnsNotFound_thenCompleteExceptionally() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        final CompletableFuture<String> result = RequestUtils.getResponseAsync(request, stubTransport(404, ""), inputStream -> "mapped");
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(NoDataFoundException.class, exception.getCause());
+    }
+
+    @Test
+    public void whenAsyncTransportFails_thenCompleteWithNoDataFoundException() {
+        final TransportRequest request = new TransportRequest("https://api.openweathermap.org/data/2.5/weather", new TimeoutSettings());
+        final CompletableFuture<String> result = RequestUtils.getResponseAsync(request, failedRequest -> {
+            throw new IOException("Connection reset");
+        }, inputStream -> "mapped");
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(NoDataFoundException.class, exception.getCause());
+    }
+
+    @Test
+    public void whenWarmUp_thenOpenConnectionsToBothApiVersionsWithoutApiKey() {
+        final List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        final AtomicInteger closedResponses = new AtomicInteger();
+        final HttpTransport transport = request -> {
+            requestedUrls.add(request.getUrl());
+            return new TransportResponse(401, Collections.emptyMap(), new ByteArrayInputStream(new byte[0]) {
+                @Override
+                public void close() {
+                    closedResponses.incrementAndGet();
+                }
+            });
+        };
+
+        RequestUtils.warmUp(transport, new TimeoutSettings());
+
+        assertEquals(Arrays.asList("https://api.openweathermap.org/data/2.5/weather", "https://api.openweathermap.org/data/3.0/weather"), requestedUrls);
+        assertEquals(2, closedResponses.get());
+    }
+
+    @Test
+    public void whenWarmUpAsyncFails_thenCompleteNormally() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final HttpTransport transport = request -> {
+            requests.incrementAndGet();
+            throw new IOException("Network is unreachable");
+        };
+
+        RequestUtils.warmUpAsync(transport, ForkJoinPool.commonPool(), new TimeoutSettings()).get(5, TimeUnit.SECONDS);
+        assertEquals(2, requests.get());
+    }
+
+    private static HttpTransport stubTransport(int statusCode, String body) {
+        return request -> new TransportResponse(statusCode, Collections.emptyMap(), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
 }
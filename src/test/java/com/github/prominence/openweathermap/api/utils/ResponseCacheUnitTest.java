@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2021 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import com.github.prominence.openweathermap.api.conf.ResponseCacheSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.LocationNotFoundException;
+import com.github.prominence.openweathermap.api.exception.ServerErrorException;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.TransportRequest;
+import com.github.prominence.openweathermap.api.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheUnitTest {
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger mappings = new AtomicInteger();
+    private final HttpTransport transport = request -> {
+        requests.incrementAndGet();
+        return new TransportResponse(200, Collections.emptyMap(), null);
+    };
+    private final Function<InputStream, Object> mapper = inputStream -> {
+        mappings.incrementAndGet();
+        return new Object();
+    };
+
+    @Test
+    public void whenRequestIsRepeated_thenSkipNetworkAndMapping() throws Exception {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings());
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        // API key is not a part of the request identity
+        final Object second = RequestUtils.getResponse(createRequestSettings(responseCache, "anotherKey", "London"), mapper);
+        final CompletableFuture<Object> third = RequestUtils.getResponseAsync(createRequestSettings(responseCache, "key", "London"), mapper);
+
+        assertSame(first, second);
+        assertTrue(third.isDone());
+        assertSame(first, third.get());
+        assertEquals(1, requests.get());
+        assertEquals(1, mappings.get());
+        assertEquals(2, responseCache.getHits());
+        assertEquals(1, responseCache.getMisses());
+    }
+
+    @Test
+    public void whenMappersHaveSameResultType_thenShareCacheEntry() throws Exception {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings());
+        final Function<InputStream, Object> anotherMapper = inputStream -> mapper.apply(inputStream);
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), "weather", mapper);
+        final Object second = RequestUtils.getResponseAsync(createRequestSettings(responseCache, "key", "London"), "weather", anotherMapper).get();
+        final Object other = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), "forecast", anotherMapper);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, requests.get());
+        assertEquals(2, responseCache.size());
+    }
+
+    @Test
+    public void whenParametersDiffer_thenCacheSeparately() {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings());
+
+        final Object london = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        final Object paris = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "Paris"), mapper);
+
+        assertNotSame(london, paris);
+        assertEquals(2, requests.get());
+        assertEquals(2, responseCache.size());
+    }
+
+    @Test
+    public void whenTtlIsOver_thenRequestAgain() throws Exception {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings(100, 50));
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        Thread.sleep(100);
+        final Object second = RequestUtils.getResponseAsync(createRequestSettings(responseCache, "key", "London"), mapper).get();
+        final Object third = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+
+        assertNotSame(first, second);
+        assertSame(second, third);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void whenResultIsStale_thenReturnItAndRefreshOnce() throws Exception {
+        final ResponseCacheSettings settings = new ResponseCacheSettings(100, 50);
+        settings.setStaleWhileRevalidate(60000);
+        final ResponseCache responseCache = new ResponseCache(settings);
+        final CompletableFuture<TransportResponse> refreshResponse = new CompletableFuture<>();
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                requests.incrementAndGet();
+                return new TransportResponse(200, Collections.emptyMap(), null);
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor executor) {
+                requests.incrementAndGet();
+                return refreshResponse;
+            }
+        };
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(responseCache, transport), mapper);
+        Thread.sleep(100);
+        final Object second = RequestUtils.getResponse(createRequestSettings(responseCache, transport), mapper);
+        final Object third = RequestUtils.getResponseAsync(createRequestSettings(responseCache, transport), mapper).get();
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(2, requests.get());
+        assertEquals(1, responseCache.getRefreshes());
+        assertEquals(2, responseCache.getStaleHits());
+
+        refreshResponse.complete(new TransportResponse(200, Collections.emptyMap(), null));
+        final Object refreshed = RequestUtils.getResponse(createRequestSettings(responseCache, transport), mapper);
+
+        assertNotSame(first, refreshed);
+        assertEquals(2, requests.get());
+        assertEquals(2, responseCache.getStaleHits());
+    }
+
+    @Test
+    public void whenStalePeriodIsOver_thenWaitForNewResult() throws Exception {
+        final ResponseCacheSettings settings = new ResponseCacheSettings(100, 30);
+        settings.setStaleWhileRevalidate(30);
+        final ResponseCache responseCache = new ResponseCache(settings);
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        Thread.sleep(100);
+        final Object second = RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+
+        assertNotSame(first, second);
+        assertEquals(2, requests.get());
+        assertEquals(0, responseCache.getStaleHits());
+        assertEquals(0, responseCache.getRefreshes());
+    }
+
+    @Test
+    public void whenEndpointTtlIsZero_thenDoNotCache() {
+        final ResponseCacheSettings settings = new ResponseCacheSettings();
+        settings.setTtl("weather", 0);
+        final ResponseCache responseCache = new ResponseCache(settings);
+
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+
+        assertEquals(2, requests.get());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    public void whenRequestFails_thenDoNotCache() {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings());
+        final HttpTransport failingTransport = request -> new TransportResponse(503, Collections.emptyMap(), null);
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), failingTransport, Runnable::run);
+        requestSettings.appendToURL("weather");
+        requestSettings.setResponseCache(responseCache);
+
+        assertThrows(ServerErrorException.class, () -> RequestUtils.getResponse(requestSettings, mapper));
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    public void whenLocationIsNotFound_thenCacheNegativeResult() throws Exception {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings());
+        final HttpTransport notFoundTransport = request -> {
+            requests.incrementAndGet();
+            return new TransportResponse(404, Collections.emptyMap(), null);
+        };
+
+        final LocationNotFoundException first = assertThrows(LocationNotFoundException.class,
+                () -> RequestUtils.getResponse(createRequestSettings(responseCache, notFoundTransport), mapper));
+        final LocationNotFoundException second = assertThrows(LocationNotFoundException.class,
+                () -> RequestUtils.getResponse(createRequestSettings(responseCache, notFoundTransport), mapper));
+        final ExecutionException third = assertThrows(ExecutionException.class,
+                () -> RequestUtils.getResponseAsync(createRequestSettings(responseCache, notFoundTransport), mapper).get());
+
+        assertNotSame(first, second);
+        assertEquals(404, second.getStatusCode());
+        assertInstanceOf(LocationNotFoundException.class, third.getCause());
+        assertEquals(1, requests.get());
+        assertEquals(2, responseCache.getNegativeHits());
+    }
+
+    @Test
+    public void whenNegativeTtlIsOver_thenRequestAgain() throws Exception {
+        final ResponseCacheSettings settings = new ResponseCacheSettings();
+        settings.setNegativeTtl(50);
+        final ResponseCache responseCache = new ResponseCache(settings);
+        final HttpTransport badRequestTransport = request -> {
+            requests.incrementAndGet();
+            return new TransportResponse(400, Collections.emptyMap(), null);
+        };
+
+        final ExecutionException first = assertThrows(ExecutionException.class,
+                () -> RequestUtils.getResponseAsync(createRequestSettings(responseCache, badRequestTransport), mapper).get());
+        assertInstanceOf(LocationNotFoundException.class, first.getCause());
+        assertThrows(LocationNotFoundException.class, () -> RequestUtils.getResponse(createRequestSettings(responseCache, badRequestTransport), mapper));
+        Thread.sleep(100);
+        assertThrows(LocationNotFoundException.class, () -> RequestUtils.getResponse(createRequestSettings(responseCache, badRequestTransport), mapper));
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void whenNegativeTtlIsZero_thenDoNotCacheNegativeResult() {
+        final ResponseCacheSettings settings = new ResponseCacheSettings();
+        settings.setNegativeTtl(0);
+        final ResponseCache responseCache = new ResponseCache(settings);
+        final HttpTransport notFoundTransport = request -> {
+            requests.incrementAndGet();
+            return new TransportResponse(404, Collections.emptyMap(), null);
+        };
+
+        assertThrows(LocationNotFoundException.class, () -> RequestUtils.getResponse(createRequestSettings(responseCache, notFoundTransport), mapper));
+        assertThrows(LocationNotFoundException.class, () -> RequestUtils.getResponse(createRequestSettings(responseCache, notFoundTransport), mapper));
+
+        assertEquals(2, requests.get());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    public void whenDiskTierIsSet_thenRestoreResultsAfterRestart(@TempDir Path directory) throws Exception {
+        final ResponseCacheSettings settings = new ResponseCacheSettings();
+        settings.setDiskCacheSettings(new DiskCacheSettings(directory));
+        final HttpTransport bodyTransport = request -> {
+            requests.incrementAndGet();
+            return new TransportResponse(200, Collections.emptyMap(), new ByteArrayInputStream("London".getBytes(StandardCharsets.UTF_8)));
+        };
+        final Function<InputStream, String> bodyMapper = inputStream -> {
+            mappings.incrementAndGet();
+            return new Scanner(inputStream, "UTF-8").useDelimiter("\\A").next();
+        };
+
+        final ResponseCache responseCache = new ResponseCache(settings);
+        assertEquals("London", RequestUtils.getResponse(createRequestSettings(responseCache, bodyTransport), bodyMapper));
+        responseCache.close();
+
+        final ResponseCache restartedCache = new ResponseCache(settings);
+        final String restored = RequestUtils.getResponseAsync(createRequestSettings(restartedCache, bodyTransport), bodyMapper).get();
+        final String cached = RequestUtils.getResponse(createRequestSettings(restartedCache, bodyTransport), bodyMapper);
+
+        assertEquals("London", restored);
+        assertSame(restored, cached);
+        assertEquals(1, requests.get());
+        assertEquals(2, mappings.get());
+        assertEquals(1, restartedCache.getDiskHits());
+
+        // the directory is locked by the open cache
+        assertTrue(restartedCache.hasDiskTier());
+        assertFalse(new ResponseCache(settings).hasDiskTier());
+
+        restartedCache.clear();
+        restartedCache.close();
+        assertEquals("London", RequestUtils.getResponse(createRequestSettings(new ResponseCache(settings), bodyTransport), bodyMapper));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void whenResponseIsNotModified_thenRefreshItOnDisk(@TempDir Path directory) throws Exception {
+        final ResponseCacheSettings settings = new ResponseCacheSettings(100, 1000);
+        settings.setStaleWhileRevalidate(0);
+        settings.setDiskCacheSettings(new DiskCacheSettings(directory));
+        final HttpTransport revalidatingTransport = request -> {
+            requests.incrementAndGet();
+            if ("\"v1\"".equals(request.getHeaders().get("If-None-Match"))) {
+                return new TransportResponse(304, Collections.emptyMap(), null);
+            }
+            return new TransportResponse(200, Collections.singletonMap("ETag", Collections.singletonList("\"v1\"")),
+                    new ByteArrayInputStream("London".getBytes(StandardCharsets.UTF_8)));
+        };
+        final Function<InputStream, String> bodyMapper = inputStream -> {
+            mappings.incrementAndGet();
+            return new Scanner(inputStream, "UTF-8").useDelimiter("\\A").next();
+        };
+        final RevalidationCache revalidationCache = new RevalidationCache();
+
+        final ResponseCache responseCache = new ResponseCache(settings);
+        final RequestSettings requestSettings = createRequestSettings(responseCache, revalidatingTransport);
+        requestSettings.setRevalidationCache(revalidationCache);
+        assertEquals("London", RequestUtils.getResponse(requestSettings, bodyMapper));
+        Thread.sleep(1100);
+        assertEquals("London", RequestUtils.getResponse(requestSettings, bodyMapper));
+        responseCache.close();
+        assertEquals(1, revalidationCache.getNotModifiedResponses());
+
+        // the stored response is fresh again, so it is restored without request
+        final ResponseCache restartedCache = new ResponseCache(settings);
+        assertEquals("London", RequestUtils.getResponse(createRequestSettings(restartedCache, revalidatingTransport), bodyMapper));
+        assertEquals(2, requests.get());
+        assertEquals(1, restartedCache.getDiskHits());
+        restartedCache.close();
+    }
+
+    @Test
+    public void whenCacheIsFull_thenEvictLeastRecentlyUsed() {
+        final ResponseCache responseCache = new ResponseCache(new ResponseCacheSettings(2, 60000));
+
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "Paris"), mapper);
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "Berlin"), mapper);
+        RequestUtils.getResponse(createRequestSettings(responseCache, "key", "London"), mapper);
+
+        assertEquals(3, requests.get());
+        assertEquals(2, responseCache.size());
+    }
+
+    private RequestSettings createRequestSettings(ResponseCache responseCache, HttpTransport transport) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), transport, Runnable::run);
+        requestSettings.appendToURL("weather");
+        requestSettings.putRequestParameter("q", "London");
+        requestSettings.setResponseCache(responseCache);
+        return requestSettings;
+    }
+
+    private RequestSettings createRequestSettings(ResponseCache responseCache, String apiKey, String city) {
+        final RequestSettings requestSettings = new RequestSettings(apiKey, new TimeoutSettings(), transport, Runnable::run);
+        requestSettings.appendToURL("weather");
+        requestSettings.putRequestParameter("q", city);
+        requestSettings.setResponseCache(responseCache);
+        return requestSettings;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.prominence.openweathermap.api.utils;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.transport.HttpTransport;
+import com.github.prominence.openweathermap.api.transport.TransportRequest;
+import com.github.prominence.openweathermap.api.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevalidationCacheUnitTest {
+    private final AtomicInteger mappings = new AtomicInteger();
+    private final Function<InputStream, Object> mapper = inputStream -> {
+        mappings.incrementAndGet();
+        return new Object();
+    };
+
+    @Test
+    public void whenResponseHasEtag_thenSendIfNoneMatchAndReuseResultOnNotModified() throws Exception {
+        final RevalidationCache revalidationCache = new RevalidationCache();
+        final List<TransportRequest> executedRequests = new ArrayList<>();
+        final HttpTransport transport = request -> {
+            executedRequests.add(request);
+            if ("\"v1\"".equals(request.getHeaders().get("If-None-Match"))) {
+                return new TransportResponse(304, Collections.emptyMap(), null);
+            }
+            return response(200, "ETag", "\"v1\"", "{}");
+        };
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+        final Object second = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+        final Object third = RequestUtils.getResponseAsync(createRequestSettings(revalidationCache, transport), mapper).get();
+
+        assertNull(executedRequests.get(0).getHeaders().get("If-None-Match"));
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(1, mappings.get());
+        assertEquals(2, revalidationCache.getNotModifiedResponses());
+    }
+
+    @Test
+    public void whenResponseHasLastModified_thenSendIfModifiedSince() {
+        final RevalidationCache revalidationCache = new RevalidationCache();
+        final List<TransportRequest> executedRequests = new ArrayList<>();
+        final HttpTransport transport = request -> {
+            executedRequests.add(request);
+            return executedRequests.size() == 1 ? response(200, "Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT", "{}") : new TransportResponse(304, Collections.emptyMap(), null);
+        };
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+        final Object second = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", executedRequests.get(1).getHeaders().get("If-Modified-Since"));
+        assertSame(first, second);
+    }
+
+    @Test
+    public void whenResponseHasNoValidators_thenCompareContent() {
+        final RevalidationCache revalidationCache = new RevalidationCache();
+        final String[] body = {"{\"dt\":1}"};
+        final HttpTransport transport = request -> response(200, null, null, body[0]);
+
+        final Object first = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+        final Object second = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+        body[0] = "{\"dt\":2}";
+        final Object third = RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(2, mappings.get());
+        assertEquals(1, revalidationCache.getUnchangedResponses());
+    }
+
+    @Test
+    public void whenRequestsDiffer_thenKeepSeparateEntries() {
+        final RevalidationCache revalidationCache = new RevalidationCache(1);
+        final HttpTransport transport = request -> response(200, null, null, "{}");
+
+        final RequestSettings londonSettings = createRequestSettings(revalidationCache, transport);
+        final RequestSettings parisSettings = createRequestSettings(revalidationCache, transport);
+        parisSettings.putRequestParameter("q", "Paris");
+        RequestUtils.getResponse(londonSettings, mapper);
+        RequestUtils.getResponse(parisSettings, mapper);
+        RequestUtils.getResponse(createRequestSettings(revalidationCache, transport), mapper);
+
+        // the least recently used entry is evicted
+        assertEquals(3, mappings.get());
+        assertEquals(1, revalidationCache.size());
+    }
+
+    private static RequestSettings createRequestSettings(RevalidationCache revalidationCache, HttpTransport transport) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), transport, Runnable::run);
+        requestSettings.appendToURL("weather");
+        requestSettings.putRequestParameter("q", "London");
+        requestSettings.setRevalidationCache(revalidationCache);
+        return requestSettings;
+    }
+
+    private static TransportResponse response(int statusCode, String header, String value, String body) {
+        final Map<String, List<String>> headers = new HashMap<>();
+        if (header != null) {
+            headers.put(header, Collections.singletonList(value));
+        }
+        return new TransportResponse(statusCode, headers, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}